@@ -0,0 +1,37 @@
+package sample;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Runs the benchmarks and writes every run's results to bench-results/(date)_(time).json, so runs can be
+ * compared to catch regressions.
+ * <p>
+ * Usage (from the game directory, which has GoldenKeys.txt): java sample.Benchmarks [JMH options]
+ * e.g.   java sample.Benchmarks Turn -f 1 -wi 2 -i 3
+ */
+public class Benchmarks {
+    static final String RESULTS_DIRECTORY = "bench-results";
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createDirectories(Paths.get(RESULTS_DIRECTORY));
+        Path results = directory.resolve(
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss")) + ".json");
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .resultFormat(ResultFormatType.JSON)
+            .result(results.toString())
+            .build();
+        new Runner(options).run();
+        System.out.println("Results: " + results);
+    }
+}
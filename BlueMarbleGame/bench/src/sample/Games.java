@@ -0,0 +1,26 @@
+package sample;
+
+import java.io.IOException;
+
+/**
+ * Headless games for the benchmarks, played by the Simulator's Bots
+ */
+final class Games {
+    private static final String[] POLICIES = {"greedy", "cautious", "landlord", "miser"};
+
+    private Games() {
+    }
+
+    /**
+     * @param players # of players (2-4), seated with the greedy, cautious, landlord and miser Bots in that order
+     * @param seed    seed of the game
+     * @throws IOException thrown if GoldenKeys.txt can't be read (run from the game directory)
+     */
+    static GameEngine newGame(int players, long seed) throws IOException {
+        Bot[] seats = new Bot[players];
+        for (int i = 0; i < players; i++) {
+            seats[i] = Bot.named(POLICIES[i]);
+        }
+        return new GameEngine(Simulator.newPlayers(seats), GoldenKeyDeck.standard(), seed, null);
+    }
+}
@@ -0,0 +1,62 @@
+package sample;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drawing Golden Key cards, the building maintenance fee, the most expensive property, and applying a card's
+ * effect
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GoldenKeyBenchmark {
+    private GameEngine game;
+    private PlayerState player;
+    private int buildingFeeCard = -1;
+    private int receiveCard = -1;
+
+    @Setup
+    public void setUp() throws Exception {
+        game = Games.newGame(4, 1);
+        player = game.players.get(0);
+        player.money = Long.MAX_VALUE / 2;
+        for (PropertyState property : game.properties) {
+            if (property != null && property.regular) {
+                game.purchase(player, property);
+                game.build(player, property, new int[]{2, 1, 1});
+            }
+        }
+        GoldenKeyEffect[] effects = game.goldenKeyDeck.effects;
+        for (int card = 0; card < effects.length; card++) {
+            if (buildingFeeCard < 0 && effects[card] instanceof GoldenKeyEffect.BuildingFee)
+                buildingFeeCard = card;
+            if (receiveCard < 0 && effects[card] instanceof GoldenKeyEffect.Receive)
+                receiveCard = card;
+        }
+    }
+
+    @Benchmark
+    public int drawGoldenKeyCard() {
+        return game.drawGoldenKeyCard();
+    }
+
+    @Benchmark
+    public long buildingFee() {
+        return game.goldenKeyFee(player, buildingFeeCard);
+    }
+
+    @Benchmark
+    public PropertyState mostExpensiveProperty() {
+        return game.mostExpensiveProperty(player);
+    }
+
+    @Benchmark
+    public int applyReceive() {
+        return game.applyGoldenKey(player, receiveCard);
+    }
+}
@@ -0,0 +1,65 @@
+package sample;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MoneyFormat on the amounts the UI shows: board prices and rents (cached) and arbitrary balances (not cached)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyFormatBenchmark {
+    private long[] boardAmounts;
+    private long[] balances;
+    private final StringBuilder out = new StringBuilder(32);
+    private int next;
+
+    @Setup
+    public void setUp() {
+        int count = 0;
+        for (int space = 0; space < Board.SIZE; space++) {
+            if (Board.isProperty(space))
+                count += Board.PRICES[space].length + Board.RENTS[space].length;
+        }
+        boardAmounts = new long[count];
+        int i = 0;
+        for (int space = 0; space < Board.SIZE; space++) {
+            if (Board.isProperty(space)) {
+                for (long price : Board.PRICES[space]) {
+                    boardAmounts[i++] = price;
+                }
+                for (long rent : Board.RENTS[space]) {
+                    boardAmounts[i++] = rent;
+                }
+            }
+        }
+        balances = new long[256];
+        for (int j = 0; j < balances.length; j++) {
+            balances[j] = 31337L * j - 1_000_000;  // -$1000M..$7000M, mostly not round
+        }
+    }
+
+    @Benchmark
+    public String formatBoardAmount() {
+        next = (next + 1) % boardAmounts.length;
+        return MoneyFormat.format(boardAmounts[next]);
+    }
+
+    @Benchmark
+    public String formatBalance() {
+        next = (next + 1) & 255;
+        return MoneyFormat.format(balances[next]);
+    }
+
+    @Benchmark
+    public StringBuilder appendBalance() {
+        next = (next + 1) & 255;
+        out.setLength(0);
+        return MoneyFormat.appendTo(out, balances[next]);
+    }
+}
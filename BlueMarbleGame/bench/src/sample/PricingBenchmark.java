@@ -0,0 +1,81 @@
+package sample;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price and rent of a RegularProperty for every combination of buildings, and building through the GameEngine.
+ * The int[] variants encode the request before reading the same tables as the configuration ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PricingBenchmark {
+    private static final int NEW_YORK = 37;
+
+    private final int[][] requests = new int[27][];
+    private PropertyState property;
+    private GameEngine game;
+    private PlayerState owner;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = new int[]{i / 9, i / 3 % 3, i % 3};
+        }
+        property = new PropertyState(NEW_YORK, new BoardState(), new PlayerState[0]);
+        game = Games.newGame(4, 1);
+        owner = game.players.get(0);
+        owner.money = Long.MAX_VALUE / 2;
+        game.purchase(owner, game.properties[NEW_YORK]);
+    }
+
+    private int[] nextRequest() {
+        next = (next + 1) % requests.length;
+        return requests[next];
+    }
+
+    private int nextConfiguration() {
+        next = (next + 1) % PropertyState.CONFIGURATIONS;
+        return next;
+    }
+
+    @Benchmark
+    public long priceWith() {
+        return property.priceWith(nextRequest());
+    }
+
+    @Benchmark
+    public long rentWith() {
+        return property.rentWith(nextRequest());
+    }
+
+    /**
+     * Table lookups by configuration number, as the bots evaluate every building option
+     */
+    @Benchmark
+    public long priceAndRentWithConfiguration() {
+        int configuration = nextConfiguration();
+        return property.priceWith(configuration) + property.rentWith(configuration);
+    }
+
+    @Benchmark
+    public long construct() {
+        property.construct(nextRequest());
+        return property.rent();
+    }
+
+    /**
+     * GameEngine.build(): the owner pays or receives the difference and the building totals are updated
+     */
+    @Benchmark
+    public long build() {
+        game.build(owner, game.properties[NEW_YORK], nextRequest());
+        return owner.money;
+    }
+}
@@ -0,0 +1,70 @@
+package sample;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilding journaled games: seeking to random turns of games already replayed once (so from their
+ * snapshots), and loading a journal of 64 games and replaying every one to the end
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReplayBenchmark {
+    private static final int GAMES = 64;
+    private static final int MAX_TURNS = 1000;
+
+    private Path journalFile;
+    private List<GameReplay> replays;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setUp() throws Exception {
+        journalFile = Files.createTempFile("bench", ".journal");
+        Files.delete(journalFile);
+        try (FileChannel channel = GameJournal.open(journalFile)) {
+            GameJournal journal = new GameJournal(channel);
+            for (int i = 0; i < GAMES; i++) {
+                GameEngine game = Games.newGame(4, i);
+                game.startJournal(journal);
+                for (int turn = 0; turn < MAX_TURNS && !game.isOver(); turn++) {
+                    game.playTurn();
+                }
+            }
+            journal.commit();
+        }
+        replays = GameReplay.load(journalFile, GoldenKeyDeck.standard());
+        for (GameReplay replay : replays) {
+            replay.seek(replay.turns());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.delete(journalFile);
+    }
+
+    @Benchmark
+    public GameEngine seekRandomTurn() {
+        GameReplay replay = replays.get(random.nextInt(GAMES));
+        return replay.seek(random.nextInt(replay.turns() + 1));
+    }
+
+    @Benchmark
+    public List<GameReplay> loadAndReplayAll() throws Exception {
+        List<GameReplay> loaded = GameReplay.load(journalFile, GoldenKeyDeck.standard());
+        for (GameReplay replay : loaded) {
+            replay.seek(replay.turns());
+        }
+        return loaded;
+    }
+}
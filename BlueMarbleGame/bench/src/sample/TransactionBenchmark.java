@@ -0,0 +1,74 @@
+package sample;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Property changing hands: purchase and sale (each updates the owner's ownership mask and aggregates), and a
+ * bankrupt Player's properties taken over by their creditor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionBenchmark {
+    @Param({"0", "10", "25"})
+    public int owned;  // # of properties the Player already owns
+
+    private GameEngine game;
+    private PlayerState buyer;
+    private PropertyState traded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        game = Games.newGame(4, 1);
+        buyer = game.players.get(0);
+        buyer.money = Long.MAX_VALUE / 2;
+        for (PropertyState property : game.properties) {
+            if (property == null)
+                continue;
+            if (buyer.propertyCount() < owned)
+                game.purchase(buyer, property);
+            else if (traded == null)
+                traded = property;
+        }
+    }
+
+    @Benchmark
+    public int purchaseAndSell() {
+        game.purchase(buyer, traded);
+        game.sell(buyer, traded);
+        return buyer.propertyCount();
+    }
+
+    /**
+     * A fresh game per invocation, in which the creditor takes over everything the loser owns
+     */
+    @State(Scope.Thread)
+    public static class Bankruptcy {
+        GameEngine game;
+        PlayerState loser;
+        PlayerState shark;
+
+        @Setup(Level.Invocation)
+        public void setUp(TransactionBenchmark benchmark) throws Exception {
+            game = Games.newGame(4, 1);
+            loser = game.players.get(0);
+            shark = game.players.get(1);
+            loser.money = Long.MAX_VALUE / 2;
+            for (PropertyState property : game.properties) {
+                if (property != null && loser.propertyCount() < benchmark.owned)
+                    game.purchase(loser, property);
+            }
+        }
+    }
+
+    @Benchmark
+    public int takeOver(Bankruptcy bankruptcy) {
+        bankruptcy.game.eliminate(bankruptcy.loser, bankruptcy.shark, BankruptcyCause.RENT);
+        return bankruptcy.shark.propertyCount();
+    }
+}
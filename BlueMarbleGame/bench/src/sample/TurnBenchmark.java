@@ -0,0 +1,83 @@
+package sample;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full turn resolution between four Bots in a headless GameEngine, and whole games, with and without a
+ * GameJournal (written to a temporary file)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TurnBenchmark {
+    private static final int MAX_TURNS = 1000;
+
+    @Param({"false", "true"})
+    public boolean journaled;
+
+    private long seed;
+    private GameEngine game;
+    private int turns;
+    private Path journalFile;
+    private FileChannel channel;
+    private GameJournal journal;
+
+    @Setup
+    public void setUp() throws Exception {
+        if (journaled) {
+            journalFile = Files.createTempFile("bench", ".journal");
+            Files.delete(journalFile);
+            channel = GameJournal.open(journalFile);
+            journal = new GameJournal(channel);
+        }
+        game = newGame();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (channel != null) {
+            channel.close();
+            Files.delete(journalFile);
+        }
+    }
+
+    private GameEngine newGame() throws IOException {
+        GameEngine game = Games.newGame(4, seed++);
+        if (journal != null)
+            game.startJournal(journal);
+        return game;
+    }
+
+    /**
+     * One turn; a new game starts when one is over, so this averages over every stage of a game
+     */
+    @Benchmark
+    public int playTurn() throws Exception {
+        if (game.isOver() || turns == MAX_TURNS) {
+            game = newGame();
+            turns = 0;
+        }
+        game.playTurn();
+        turns++;
+        return game.turn;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public PlayerState playGame() throws Exception {
+        GameEngine game = newGame();
+        for (int turn = 0; turn < MAX_TURNS && !game.isOver(); turn++) {
+            game.playTurn();
+        }
+        return game.winner();
+    }
+}
@@ -0,0 +1,199 @@
+package sample;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * One indexed file holding every image, sound and text asset of the game, read through a MappedByteBuffer
+ * so that no asset needs its own file open.
+ * <p>
+ * FORMAT: "BMAB", version, # of entries, then per entry {path length, path (UTF-8), offset, length},
+ * then the contents of every entry. Paths are relative to the game directory and use '/'.
+ * <p>
+ * Build step: java sample.AssetBundle (game directory) (bundle file)
+ */
+final class AssetBundle {
+    static final int MAGIC = 0x424D4142;  // "BMAB"
+    static final int VERSION = 1;
+    static final String FILE_NAME = "assets.bundle";
+
+    /**
+     * Everything the game loads: directories are packed recursively, except for GIMP sources
+     */
+    static final String[] ASSETS = {
+        "img_buildings", "img_cities", "img_dice", "img_goldenkeys", "img_planes", "img_properties", "sounds",
+        "bankrupt.png", "bluemarbleboard.png", "future-pictures-1.jpg", "GoldenKeys.txt", "SpaceIndices.txt"
+    };
+
+    private final MappedByteBuffer data;
+    private final HashMap<String, long[]> index;  // lower-cased path -> {offset, length}
+
+    private AssetBundle(MappedByteBuffer data, HashMap<String, long[]> index) {
+        this.data = data;
+        this.index = index;
+    }
+
+    /**
+     * Maps a bundle file into memory and reads its index
+     *
+     * @throws IOException thrown if the file can't be read or isn't a bundle
+     */
+    static AssetBundle open(Path file) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (data.getInt() != MAGIC)
+            throw new IOException(file + " is not an asset bundle");
+        if (data.getInt() != VERSION)
+            throw new IOException(file + " has an unsupported asset bundle version");
+        int entries = data.getInt();
+        HashMap<String, long[]> index = new HashMap<>(entries * 2);
+        for (int i = 0; i < entries; i++) {
+            byte[] path = new byte[data.getShort()];
+            data.get(path);
+            index.put(new String(path, StandardCharsets.UTF_8).toLowerCase(Locale.ROOT),
+                new long[]{data.getLong(), data.getInt()});
+        }
+        return new AssetBundle(data, index);
+    }
+
+    /**
+     * Paths are matched case-insensitively, like the Windows file system the game was written on
+     *
+     * @param path path relative to the game directory, e.g. "sounds/Push1.wav"
+     * @return the contents of the entry (sharing the mapped memory); NULL if there is no such entry
+     */
+    ByteBuffer get(String path) {
+        long[] entry = index.get(path.replace('\\', '/').toLowerCase(Locale.ROOT));
+        if (entry == null)
+            return null;
+        ByteBuffer slice = data.duplicate();
+        slice.position((int) entry[0]).limit((int) (entry[0] + entry[1]));
+        return slice.slice();
+    }
+
+    /**
+     * @return a stream over the entry's bytes; NULL if there is no such entry
+     */
+    InputStream open(String path) {
+        ByteBuffer entry = get(path);
+        return entry == null ? null : new ByteBufferInputStream(entry);
+    }
+
+    /**
+     * InputStream reading straight from the mapped memory of an entry
+     */
+    static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0)
+                return 0;
+            if (!buffer.hasRemaining())
+                return -1;
+            len = Math.min(len, buffer.remaining());
+            buffer.get(b, off, len);
+            return len;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Packs every asset under the game directory into one bundle file
+     *
+     * @param gameDirectory directory holding img_*, sounds, etc.
+     * @param bundle        bundle file to write
+     * @return number of entries packed
+     */
+    static int pack(Path gameDirectory, Path bundle) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String asset : ASSETS) {
+            Path path = gameDirectory.resolve(asset);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> walk = Files.walk(path)) {
+                    files.addAll(walk.filter(Files::isRegularFile)
+                        .filter(file -> !file.toString().endsWith(".xcf"))
+                        .filter(file -> !file.getFileName().toString().equals("desktop.ini"))
+                        .sorted()
+                        .collect(Collectors.toList()));
+                }
+            } else if (Files.isRegularFile(path)) {
+                files.add(path);
+            }
+        }
+
+        List<byte[]> names = new ArrayList<>(files.size());
+        long headerLength = 12;
+        for (Path file : files) {
+            byte[] name = gameDirectory.relativize(file).toString().replace('\\', '/')
+                .getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            headerLength += 2 + name.length + 8 + 4;
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(bundle)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(files.size());
+            long offset = headerLength;
+            for (int i = 0; i < files.size(); i++) {
+                long length = Files.size(files.get(i));
+                out.writeShort(names.get(i).length);
+                out.write(names.get(i));
+                out.writeLong(offset);
+                out.writeInt((int) length);
+                offset += length;
+            }
+            for (Path file : files) {
+                Files.copy(file, (OutputStream) out);
+            }
+        }
+        return files.size();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path gameDirectory = Paths.get(args.length > 0 ? args[0] : ".");
+        Path bundle = Paths.get(args.length > 1 ? args[1] : FILE_NAME);
+        int entries = pack(gameDirectory, bundle);
+        System.out.println("Packed " + entries + " assets into " + bundle + " (" + Files.size(bundle) + " bytes)");
+    }
+}
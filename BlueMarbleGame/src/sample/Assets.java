@@ -0,0 +1,122 @@
+package sample;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+
+/**
+ * Resolves every asset of the game (images, sounds, SpaceIndices.txt) by its path relative to the game
+ * directory. Assets come from the packed AssetBundle when there is one, found through the
+ * "bluemarble.assets" system property or next to the game's classes, so the working directory doesn't matter.
+ * Without a bundle, assets are read as loose files from the working directory.
+ */
+final class Assets {
+    static final String PROTOCOL = "bundle";
+
+    private static final AssetBundle bundle = findBundle();
+    private static final HashMap<String, String> extractedMedia = new HashMap<>();
+
+    static {
+        if (bundle != null) {
+            // lets JavaFX load bundled images in the background from "bundle:" URLs
+            URL.setURLStreamHandlerFactory(protocol -> PROTOCOL.equals(protocol) ? new URLStreamHandler() {
+                @Override
+                protected URLConnection openConnection(URL url) {
+                    return new URLConnection(url) {
+                        @Override
+                        public void connect() {
+                        }
+
+                        @Override
+                        public InputStream getInputStream() throws IOException {
+                            return Assets.open(url.getPath());
+                        }
+                    };
+                }
+            } : null);
+        }
+    }
+
+    private Assets() {
+    }
+
+    private static AssetBundle findBundle() {
+        try {
+            String property = System.getProperty("bluemarble.assets");
+            Path classes = Paths.get(Assets.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            Path[] candidates = {
+                property != null ? Paths.get(property) : null,
+                classes.resolve(AssetBundle.FILE_NAME),
+                classes.resolveSibling(AssetBundle.FILE_NAME),
+                Paths.get(AssetBundle.FILE_NAME),
+            };
+            for (Path candidate : candidates) {
+                if (candidate != null && Files.isRegularFile(candidate))
+                    return AssetBundle.open(candidate);
+            }
+        } catch (IOException | URISyntaxException | SecurityException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * @param path path relative to the game directory, e.g. "img_dice/1.png"
+     * @return a stream over the asset's bytes
+     * @throws FileNotFoundException thrown if there is no such asset
+     */
+    static InputStream open(String path) throws FileNotFoundException {
+        if (bundle != null) {
+            InputStream in = bundle.open(path);
+            if (in != null)
+                return in;
+        }
+        return new FileInputStream(path);
+    }
+
+    /**
+     * URL of an image asset, for JavaFX images loaded in the background
+     */
+    static String url(String path) {
+        if (bundle != null && bundle.get(path) != null)
+            return PROTOCOL + ":" + path;
+        return Paths.get(path).toUri().toString();
+    }
+
+    /**
+     * URL of a sound asset. JavaFX media can only play file, http and jar URLs, so a bundled sound is
+     * copied out of the bundle into a temporary file the first time it is needed.
+     */
+    static synchronized String mediaUrl(String path) {
+        ByteBuffer entry = bundle == null ? null : bundle.get(path);
+        if (entry == null)
+            return Paths.get(path).toUri().toString();
+        return extractedMedia.computeIfAbsent(path.toLowerCase(), key -> {
+            try {
+                String name = Paths.get(path).getFileName().toString();
+                Path file = Files.createTempFile("bluemarble", name.substring(name.lastIndexOf('.')));
+                file.toFile().deleteOnExit();
+                try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    while (entry.hasRemaining())
+                        out.write(entry);
+                }
+                return file.toUri().toString();
+            } catch (IOException e) {
+                e.printStackTrace();
+                return Paths.get(path).toUri().toString();
+            }
+        });
+    }
+}
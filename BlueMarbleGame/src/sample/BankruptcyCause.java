@@ -0,0 +1,10 @@
+package sample;
+
+/**
+ * What a Player was paying for when they went bankrupt
+ */
+enum BankruptcyCause {
+    RENT,
+    WELFARE_TAX,
+    GOLDEN_KEY
+}
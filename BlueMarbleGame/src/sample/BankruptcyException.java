@@ -1,8 +1,8 @@
 package sample;
 
 public class BankruptcyException extends Exception {
-    Player shark;
-    public BankruptcyException(Player shark) {
+    PlayerState shark;
+    public BankruptcyException(PlayerState shark) {
         super();
         this.shark = shark;
     }
@@ -0,0 +1,161 @@
+package sample;
+
+/**
+ * Static layout of the 40 spaces of the board: which spaces are corners or Golden Keys, and the prices and
+ * rents of every Property. Shared by the headless GameEngine and the JavaFX view.
+ */
+final class Board {
+    static final int SIZE = 40;
+
+    static final int GO = 0;
+    static final int DESERTED_ISLAND = 10;
+    static final int CONCORDE = 15;
+    static final int WELFARE_ZONE = 20;
+    static final int QUEEN_ELIZABETH = 28;
+    static final int SPACE_STATION = 30;
+    static final int COLUMBIA = 32;
+    static final int WELFARE_PAY = 38;
+
+    /**
+     * Money is a long count of thousands of dollars everywhere in the game, so sums are exact: $1.000M is 1000
+     */
+    static final long MILLION = 1000;
+
+    static final long STARTING_MONEY = 30 * MILLION;
+    static final long SALARY = 2 * MILLION;
+    static final long WELFARE_TAX = 1500;
+    static final long SPACE_STATION_FEE = 2 * MILLION;
+
+    static final String[] NAMES = new String[SIZE];
+
+    /**
+     * In thousands of dollars.
+     * RegularProperties: {base price, HOUSE price, OFFICE_BUILDING price, HOTEL price}
+     * SpecialProperties: {price}
+     * null for spaces that aren't Properties
+     */
+    static final long[][] PRICES = new long[SIZE][];
+
+    /**
+     * In thousands of dollars.
+     * RegularProperties: {base rent, HOUSE1 rent, HOUSE2 rent, OFFICE_BUILDING rent, HOTEL rent}
+     * SpecialProperties: {rent}
+     * null for spaces that aren't Properties
+     */
+    static final long[][] RENTS = new long[SIZE][];
+
+    /**
+     * Price and rent of every Property for each building configuration (see PropertyState.configuration), built
+     * once from PRICES and RENTS. RegularProperties have 27 configurations; SpecialProperties only have 0.
+     * null for spaces that aren't Properties
+     */
+    static final long[][] PRICE_TABLES = new long[SIZE][];
+    static final long[][] RENT_TABLES = new long[SIZE][];
+
+    static {
+        NAMES[GO] = "GO";
+        NAMES[DESERTED_ISLAND] = "DESERTED ISLAND";
+        NAMES[WELFARE_ZONE] = "WELFARE ZONE";
+        NAMES[SPACE_STATION] = "Space Station";
+        NAMES[WELFARE_PAY] = "WELFARE PAY";
+        for (int space : new int[]{2, 7, 12, 17, 22, 35}) {
+            NAMES[space] = "GOLDEN KEY";
+        }
+
+        regular(1, "Taipei", new long[]{500, 500, 1500, 2500}, new long[]{20, 100, 300, 900, 2500});
+        regular(3, "Hong Kong", new long[]{800, 500, 1500, 2500}, new long[]{40, 200, 600, 1800, 4500});
+        regular(4, "Manila", new long[]{800, 500, 1500, 2500}, new long[]{40, 200, 600, 1800, 4500});
+        special(5, "Jeju Island", 2000, 3000);
+        regular(6, "Singapore", new long[]{1000, 500, 1500, 2500}, new long[]{60, 300, 900, 2700, 5500});
+        regular(8, "Cairo", new long[]{1000, 500, 1500, 2500}, new long[]{60, 300, 900, 2700, 5500});
+        regular(9, "Istanbul", new long[]{1200, 500, 1500, 2500}, new long[]{80, 400, 1000, 3000, 6000});
+
+        regular(11, "Athens", new long[]{1400, 1000, 3000, 5000}, new long[]{100, 500, 1500, 4500, 7500});
+        regular(13, "Copenhagen", new long[]{1600, 1000, 3000, 5000}, new long[]{120, 600, 1800, 5000, 9000});
+        regular(14, "Stockholm", new long[]{1600, 1000, 3000, 5000}, new long[]{120, 600, 1800, 5000, 9000});
+        special(CONCORDE, "Concorde", 2000, 3000);
+        regular(16, "Zurich", new long[]{1800, 1000, 3000, 5000}, new long[]{140, 700, 2000, 5500, 9500});
+        regular(18, "Berlin", new long[]{1800, 1000, 3000, 5000}, new long[]{140, 700, 2000, 5500, 9500});
+        regular(19, "Montreal", new long[]{2000, 1000, 3000, 5000}, new long[]{160, 800, 2200, 6000, 10000});
+
+        regular(21, "Buenos Aires", new long[]{2200, 1500, 4500, 7500},
+            new long[]{180, 900, 2500, 7000, 10500});
+        regular(23, "São Paulo", new long[]{2400, 1500, 4500, 7500},
+            new long[]{200, 1000, 3000, 7500, 11000});
+        regular(24, "Sydney", new long[]{2400, 1500, 4500, 7500},
+            new long[]{200, 1000, 3000, 7500, 11000});
+        special(25, "Busan", 5000, 6000);
+        regular(26, "Hawaii", new long[]{2600, 1500, 4500, 7500},
+            new long[]{220, 1100, 3300, 8000, 11500});
+        regular(27, "Lisbon", new long[]{2600, 1500, 4500, 7500},
+            new long[]{220, 1100, 3300, 8000, 11500});
+        special(QUEEN_ELIZABETH, "Queen Elizabeth 2", 3000, 2500);
+        regular(29, "Madrid", new long[]{2800, 1500, 4500, 7500},
+            new long[]{240, 1200, 3600, 8500, 12000});
+
+        regular(31, "Tokyo", new long[]{3000, 2000, 6000, 10000},
+            new long[]{260, 1300, 3900, 9000, 12750});
+        special(COLUMBIA, "Columbia", 4500, 4000);
+        regular(33, "Paris", new long[]{3200, 2000, 6000, 10000},
+            new long[]{280, 1500, 4500, 10000, 14000});
+        regular(34, "Rome", new long[]{3200, 2000, 6000, 10000},
+            new long[]{280, 1500, 4500, 10000, 14000});
+        regular(36, "London", new long[]{3500, 2000, 6000, 10000},
+            new long[]{350, 1750, 5000, 11000, 15000});
+        regular(37, "New York", new long[]{3500, 2000, 6000, 10000},
+            new long[]{350, 1750, 5000, 11000, 15000});
+        special(39, "Seoul Olympics", 10000, 20000);
+
+        for (int space = 0; space < SIZE; space++) {
+            if (isProperty(space))
+                buildTables(space);
+        }
+    }
+
+    private Board() {
+    }
+
+    private static void regular(int space, String name, long[] prices, long[] rents) {
+        NAMES[space] = name;
+        PRICES[space] = prices;
+        RENTS[space] = rents;
+    }
+
+    private static void special(int space, String name, long price, long rent) {
+        NAMES[space] = name;
+        PRICES[space] = new long[]{price};
+        RENTS[space] = new long[]{rent};
+    }
+
+    private static void buildTables(int space) {
+        long[] prices = PRICES[space];
+        long[] rents = RENTS[space];
+        int configurations = isRegularProperty(space) ? PropertyState.CONFIGURATIONS : 1;
+        PRICE_TABLES[space] = new long[configurations];
+        RENT_TABLES[space] = new long[configurations];
+        PRICE_TABLES[space][0] = prices[0];
+        RENT_TABLES[space][0] = rents[0];
+        for (int configuration = 1; configuration < configurations; configuration++) {
+            int houses = PropertyState.count(configuration, PropertyState.HOUSE);
+            int officeBuildings = PropertyState.count(configuration, PropertyState.OFFICE_BUILDING);
+            int hotels = PropertyState.count(configuration, PropertyState.HOTEL);
+            PRICE_TABLES[space][configuration] =
+                prices[0] + prices[1] * houses + prices[2] * officeBuildings + prices[3] * hotels;
+            // rent of the houses plus rent of every other building
+            RENT_TABLES[space][configuration] = (houses == 1 ? rents[1] : houses == 2 ? rents[2] : 0) +
+                rents[3] * officeBuildings + rents[4] * hotels;
+        }
+    }
+
+    static boolean isProperty(int space) {
+        return PRICES[space] != null;
+    }
+
+    static boolean isRegularProperty(int space) {
+        return PRICES[space] != null && PRICES[space].length == 4;
+    }
+
+    static boolean isGoldenKey(int space) {
+        return space == 2 || space == 7 || space == 12 || space == 17 || space == 22 || space == 35;
+    }
+}
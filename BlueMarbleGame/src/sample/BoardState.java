@@ -0,0 +1,49 @@
+package sample;
+
+import java.util.Arrays;
+
+/**
+ * Mutable state of every space of the board as flat arrays indexed by space [0,39]: owner, buildings, and
+ * current price and rent. A GameEngine keeps one; its PropertyStates are handles onto it, and the JavaFX
+ * views only read it. Copying a BoardState is four array copies, for simulations and AI search.
+ * Non-Property spaces keep NOBODY, configuration 0 and price and rent 0.
+ */
+final class BoardState {
+    static final int NOBODY = -1;
+
+    final int[] owners = new int[Board.SIZE];          // PlayerState.id of the owner; NOBODY for the banker
+    final int[] configurations = new int[Board.SIZE];  // buildings, see PropertyState
+    final long[] prices = new long[Board.SIZE];        // in thousands of dollars
+    final long[] rents = new long[Board.SIZE];         // in thousands of dollars
+
+    /**
+     * Every Property owned by the banker, without buildings
+     */
+    BoardState() {
+        Arrays.fill(owners, NOBODY);
+        for (int space = 0; space < Board.SIZE; space++) {
+            if (Board.isProperty(space))
+                construct(space, 0);
+        }
+    }
+
+    BoardState(BoardState other) {
+        copyFrom(other);
+    }
+
+    void copyFrom(BoardState other) {
+        System.arraycopy(other.owners, 0, owners, 0, Board.SIZE);
+        System.arraycopy(other.configurations, 0, configurations, 0, Board.SIZE);
+        System.arraycopy(other.prices, 0, prices, 0, Board.SIZE);
+        System.arraycopy(other.rents, 0, rents, 0, Board.SIZE);
+    }
+
+    /**
+     * Sets the buildings at the Property on the space, and its price and rent from the tables of Board
+     */
+    void construct(int space, int configuration) {
+        configurations[space] = configuration;
+        prices[space] = Board.PRICE_TABLES[space][configuration];
+        rents[space] = Board.RENT_TABLES[space][configuration];
+    }
+}
@@ -0,0 +1,152 @@
+package sample;
+
+/**
+ * A simple computer player for headless games. It buys and builds whenever it would still keep its cash
+ * reserve afterwards, and makes the sales giving up the least rent (see Liquidation) when it can't pay a bill.
+ */
+class Bot implements Decisions {
+    static final String[] POLICIES = {"greedy", "cautious", "landlord", "miser", MonteCarloBot.NAME};
+
+    final String name;
+    private final long reserve;         // money the Bot keeps in hand after purchases and buildings
+    private final int maxBuildings;     // max # of each building type the Bot constructs at a property
+
+    /**
+     * @param name         name of this policy, shown in simulation results
+     * @param reserve      money the Bot keeps in hand after purchases and buildings
+     * @param maxBuildings max # of each building type (0-2) the Bot constructs at a property
+     */
+    Bot(String name, long reserve, int maxBuildings) {
+        this.name = name;
+        this.reserve = reserve;
+        this.maxBuildings = maxBuildings;
+    }
+
+    /**
+     * @param name "greedy", "cautious", "landlord", "miser", or "mcts" for a MonteCarloBot, "mcts:(milliseconds)"
+     *             with its time budget per decision, "mcts/(rollouts)" with a number of rollouts per decision
+     * @return the Bot policy of that name
+     * @throws IllegalArgumentException thrown if there is no such policy
+     */
+    static Bot named(String name) {
+        switch (name) {
+            case "greedy":
+                return new Bot(name, 0, 2);
+            case "cautious":
+                return new Bot(name, 6 * Board.MILLION, 2);
+            case "landlord":
+                return new Bot(name, 3 * Board.MILLION, 1);
+            case "miser":
+                return new Bot(name, 15 * Board.MILLION, 0);
+            case MonteCarloBot.NAME:
+                return new MonteCarloBot(name, MonteCarloBot.DEFAULT_BUDGET_MILLIS, 0);
+            default:
+                if (name.startsWith(MonteCarloBot.NAME + ":")) {
+                    try {
+                        return new MonteCarloBot(name, Long.parseLong(name.substring(MonteCarloBot.NAME.length() + 1)),
+                            0);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("No time budget in " + name, e);
+                    }
+                }
+                if (name.startsWith(MonteCarloBot.NAME + "/")) {
+                    try {
+                        return new MonteCarloBot(name, 0,
+                            Integer.parseInt(name.substring(MonteCarloBot.NAME.length() + 1)));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("No number of rollouts in " + name, e);
+                    }
+                }
+                throw new IllegalArgumentException("No bot policy named " + name);
+        }
+    }
+
+    @Override
+    public boolean purchase(GameEngine game, PlayerState player, PropertyState property) {
+        return player.money - property.price() >= reserve;
+    }
+
+    /**
+     * Picks the highest-rent combination of buildings that keeps the reserve, never selling any
+     */
+    @Override
+    public int build(GameEngine game, PlayerState player, PropertyState property) {
+        int current = property.getConfiguration();
+        int best = KEEP_BUILDINGS;
+        long bestRent = property.rent();
+        for (int configuration = 0; configuration < PropertyState.CONFIGURATIONS; configuration++) {
+            if (!allowed(current, configuration))
+                continue;
+            long cost = property.priceWith(configuration) - property.price();
+            long rent = property.rentWith(configuration);
+            if (player.money - cost >= reserve && rent > bestRent) {
+                best = configuration;
+                bestRent = rent;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return whether going from the current configuration to the other one sells no building and stays within
+     * maxBuildings of each type
+     */
+    private boolean allowed(int current, int configuration) {
+        for (int type = 0; type < 3; type++) {
+            int count = PropertyState.count(configuration, type);
+            if (count < PropertyState.count(current, type) || count > maxBuildings)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean useComplimentaryTicket(GameEngine game, PlayerState player, PropertyState property) {
+        return true;
+    }
+
+    @Override
+    public boolean enterSpaceStation(GameEngine game, PlayerState player) {
+        return player.money - Board.SPACE_STATION_FEE >= reserve;
+    }
+
+    /**
+     * Flies to the most expensive unowned property the Bot can afford; otherwise to GO for the salary
+     */
+    @Override
+    public int spaceStationDestination(GameEngine game, PlayerState player) {
+        int destination = Board.GO;
+        long bestPrice = 0;
+        for (PropertyState property : game.properties) {
+            if (property != null && property.owner() == null && property.price() > bestPrice &&
+                player.money - property.price() >= reserve) {
+                destination = property.space;
+                bestPrice = property.price();
+            }
+        }
+        return destination;
+    }
+
+    @Override
+    public boolean useEscapeDesertedIsland(GameEngine game, PlayerState player) {
+        return true;
+    }
+
+    /**
+     * Makes the sales that cover the debt giving up the least rent; goes bankrupt right away if selling
+     * everything wouldn't cover it
+     */
+    @Override
+    public boolean raiseFunds(GameEngine game, PlayerState debtor, PlayerState creditor, long debt) {
+        Liquidation liquidation = Liquidation.plan(game, debtor, -debt);
+        if (liquidation == null)
+            return false;
+        liquidation.carryOut(game, debtor);
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,17 @@
+package sample;
+
+/**
+ * Lets a player sell properties or buildings to the bank when they can't pay a bill.
+ */
+interface DebtHandler {
+    /**
+     * Called when the debtor is short of money; sales go through GameEngine.sell() and GameEngine.build().
+     *
+     * @param game     the game being played
+     * @param debtor   the player who can't pay
+     * @param creditor the player to whom the debtor owes money; NULL if owed to the Banker
+     * @param debt     the amount the debtor is short, in thousands of dollars (negative)
+     * @return TRUE if the debt was covered; FALSE to declare bankruptcy
+     */
+    boolean raiseFunds(GameEngine game, PlayerState debtor, PlayerState creditor, long debt);
+}
@@ -0,0 +1,142 @@
+package sample;
+
+import java.util.Arrays;
+
+/**
+ * Every choice the players of a game made, in the order the GameEngine asked for them. Dice, the deck order
+ * and the first Player all come from the game's seed, so the seed and this log reproduce the game: replay it
+ * by giving every player a DecisionLog.Replay as their Decisions and DebtHandler.
+ * <p>
+ * ENTRIES: 0/1 for yes/no questions; the configuration number (or Decisions.KEEP_BUILDINGS) for building;
+ * the destination for Space Station. Raising funds is logged as its sales, SALE (space) or
+ * BUILDING_SALE (space) (configuration), then END_OF_SALES (0/1 whether the debt was covered).
+ */
+final class DecisionLog {
+    static final int SALE = 0;
+    static final int BUILDING_SALE = 1;
+    static final int END_OF_SALES = 2;
+
+    /**
+     * Keeps no entries, for games nobody replays (e.g. rollouts); shared, since it never changes
+     */
+    static final DecisionLog DISCARD = new DecisionLog(new int[0], true);
+
+    private int[] entries;
+    private int size;
+    private final boolean discarding;
+
+    DecisionLog() {
+        this(new int[256], false);
+    }
+
+    DecisionLog(DecisionLog other) {
+        this(Arrays.copyOf(other.entries, Math.max(other.size, 16)), false);
+        size = other.size;
+    }
+
+    private DecisionLog(int[] entries, boolean discarding) {
+        this.entries = entries;
+        this.discarding = discarding;
+    }
+
+    void record(int entry) {
+        if (discarding)
+            return;
+        if (size == entries.length)
+            entries = Arrays.copyOf(entries, size * 2);
+        entries[size++] = entry;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        if (index >= size)
+            throw new IndexOutOfBoundsException("Decision " + index + " of " + size);
+        return entries[index];
+    }
+
+    /**
+     * @return a copy of the entries
+     */
+    int[] toArray() {
+        return Arrays.copyOf(entries, size);
+    }
+
+    /**
+     * Answers every question with the next entry of a log, whoever's turn it is
+     */
+    static class Replay implements Decisions {
+        private final DecisionLog log;
+        private int next;
+
+        Replay(DecisionLog log) {
+            this.log = log;
+        }
+
+        /**
+         * Continues from the given entry, e.g. the size of a copied game's own DecisionLog
+         */
+        void seek(int position) {
+            next = position;
+        }
+
+        /**
+         * @return whether every entry of the log has been replayed
+         */
+        boolean isFinished() {
+            return next == log.size();
+        }
+
+        @Override
+        public boolean purchase(GameEngine game, PlayerState player, PropertyState property) {
+            return log.get(next++) != 0;
+        }
+
+        @Override
+        public int build(GameEngine game, PlayerState player, PropertyState property) {
+            return log.get(next++);
+        }
+
+        @Override
+        public boolean useComplimentaryTicket(GameEngine game, PlayerState player, PropertyState property) {
+            return log.get(next++) != 0;
+        }
+
+        @Override
+        public boolean enterSpaceStation(GameEngine game, PlayerState player) {
+            return log.get(next++) != 0;
+        }
+
+        @Override
+        public int spaceStationDestination(GameEngine game, PlayerState player) {
+            return log.get(next++);
+        }
+
+        @Override
+        public boolean useEscapeDesertedIsland(GameEngine game, PlayerState player) {
+            return log.get(next++) != 0;
+        }
+
+        @Override
+        public boolean raiseFunds(GameEngine game, PlayerState debtor, PlayerState creditor, long debt) {
+            while (true) {
+                int entry = log.get(next++);
+                switch (entry) {
+                    case SALE:
+                        game.sell(debtor, game.properties[log.get(next++)]);
+                        break;
+                    case BUILDING_SALE:
+                        int space = log.get(next++);
+                        game.build(debtor, game.properties[space], log.get(next++));
+                        break;
+                    case END_OF_SALES:
+                        return log.get(next++) != 0;
+                    default:
+                        throw new IllegalStateException("Decision " + (next - 1) + " isn't a sale: " + entry);
+                }
+            }
+        }
+    }
+}
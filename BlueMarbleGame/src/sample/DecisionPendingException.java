@@ -0,0 +1,11 @@
+package sample;
+
+/**
+ * Thrown by the Decisions of a player who hasn't answered yet, e.g. over the network, before the GameEngine
+ * changed anything in the phase: the phase is played again once the answer comes.
+ */
+public class DecisionPendingException extends RuntimeException {
+    public DecisionPendingException(String question) {
+        super(question);
+    }
+}
@@ -0,0 +1,40 @@
+package sample;
+
+/**
+ * Choices a player makes during their turn. Bots implement this to play headless games through
+ * GameEngine.playTurn(); human players answer the same questions through the JavaFX popups instead.
+ */
+interface Decisions extends DebtHandler {
+    int KEEP_BUILDINGS = -1;
+
+    /**
+     * @return whether to purchase the unowned property the player landed on
+     */
+    boolean purchase(GameEngine game, PlayerState player, PropertyState property);
+
+    /**
+     * @return configuration number (see PropertyState) of the buildings to have at the player's own regular
+     * property, or KEEP_BUILDINGS to leave it as is
+     */
+    int build(GameEngine game, PlayerState player, PropertyState property);
+
+    /**
+     * @return whether to use a Complimentary Ticket instead of paying rent
+     */
+    boolean useComplimentaryTicket(GameEngine game, PlayerState player, PropertyState property);
+
+    /**
+     * @return whether to pay the fee and enter Space Station
+     */
+    boolean enterSpaceStation(GameEngine game, PlayerState player);
+
+    /**
+     * @return space index [0,39] (other than Space Station) to travel to from Space Station
+     */
+    int spaceStationDestination(GameEngine game, PlayerState player);
+
+    /**
+     * @return whether to use the "ESCAPE DESERTED ISLAND" Golden Key
+     */
+    boolean useEscapeDesertedIsland(GameEngine game, PlayerState player);
+}
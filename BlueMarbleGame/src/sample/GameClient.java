@@ -0,0 +1,159 @@
+package sample;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+/**
+ * Local client stub of the GameServer.
+ * <p>
+ * With no # of sessions, it relays the lines typed to the server and prints the server's lines, to play by
+ * hand: e.g. NEW REMOTE,greedy then ANSWER 1 whenever asked.
+ * <p>
+ * With a # of sessions, it's a load test: it opens that many connections at once, each playing a game with
+ * one REMOTE seat against three Bots, and answers every question after the think time, at random.
+ * <p>
+ * Usage: java sample.GameClient [host] [port] [# sessions] [think time in milliseconds]
+ */
+public class GameClient {
+    static final String LOAD_TEST_GAME = "NEW REMOTE,greedy,cautious,landlord";
+
+    public static void main(String[] args) throws IOException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+        if (args.length > 2)
+            loadTest(new InetSocketAddress(host, port), Integer.parseInt(args[2]),
+                args.length > 3 ? Long.parseLong(args[3]) : 100);
+        else
+            relay(host, port);
+    }
+
+    private static void relay(String host, int port) throws IOException {
+        try (Socket socket = new Socket(host, port)) {
+            BufferedReader server = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            Thread printer = new Thread(() -> {
+                try {
+                    for (String line; (line = server.readLine()) != null; ) {
+                        System.out.println(line);
+                    }
+                } catch (IOException e) {
+                    // the connection is closed
+                }
+            }, "Server lines");
+            printer.start();
+
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+            BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+            for (String line; (line = in.readLine()) != null && !out.checkError(); ) {
+                out.println(line);
+            }
+            socket.shutdownOutput();
+            printer.join();  // until the server closes the connection
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A game of the load test
+     */
+    private static final class Session {
+        final LineChannel lines;
+        long asked;  // when the question to answer was asked, in nanoseconds
+
+        Session(SocketChannel channel) {
+            lines = new LineChannel(channel);
+        }
+    }
+
+    private static void loadTest(InetSocketAddress server, int sessions, long thinkMillis) throws IOException {
+        Selector selector = Selector.open();
+        for (int i = 0; i < sessions; i++) {
+            SocketChannel channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.connect(server);
+            channel.register(selector, SelectionKey.OP_CONNECT, new Session(channel));
+        }
+
+        SplittableRandom random = new SplittableRandom();
+        ArrayDeque<Session> thinking = new ArrayDeque<>();  // in the order they were asked, so by answer time
+        long think = thinkMillis * 1_000_000;
+        long start = System.nanoTime();
+        long status = start;
+        int open = sessions;
+        int peak = 0;
+        int playing = 0;
+        long answers = 0;
+        long[] games = new long[2];  // {games over, errors}
+        while (open > 0) {
+            long wait = thinking.isEmpty() ? 1000 : Math.max(1, (thinking.peek().asked + think - System.nanoTime()) / 1_000_000);
+            selector.select(wait);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                Session session = (Session) key.attachment();
+                try {
+                    if (key.isConnectable()) {
+                        session.lines.channel.finishConnect();
+                        session.lines.send(LOAD_TEST_GAME);
+                        playing++;
+                        peak = Math.max(peak, playing);
+                    } else if (key.isReadable() && !session.lines.read(line -> {
+                        if (line.startsWith("ASK ")) {
+                            session.asked = System.nanoTime();
+                            thinking.add(session);
+                        } else if (line.startsWith("OVER ")) {
+                            games[0]++;
+                            session.lines.send("QUIT");
+                        } else if (line.startsWith("ERROR ")) {
+                            games[1]++;
+                            System.out.println(line);
+                        }
+                    })) {
+                        key.cancel();
+                        key.channel().close();
+                        open--;
+                        playing--;
+                        continue;
+                    }
+                    key.interestOps(session.lines.flush() ? SelectionKey.OP_READ :
+                        SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                } catch (IOException e) {
+                    System.out.println("Connection failed: " + e.getMessage());
+                    key.cancel();
+                    key.channel().close();
+                    open--;
+                    playing--;
+                }
+            }
+
+            long now = System.nanoTime();
+            while (!thinking.isEmpty() && thinking.peek().asked + think <= now) {
+                Session session = thinking.poll();
+                session.lines.send("ANSWER " + random.nextInt(2));
+                answers++;
+                if (!session.lines.flush())
+                    session.lines.channel.keyFor(selector).interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+            if (now - status >= 1_000_000_000L) {
+                status = now;
+                System.out.printf("%d playing (peak %d), %d games over, %d answers, %d errors%n", playing, peak,
+                    games[0], answers, games[1]);
+            }
+        }
+        System.out.printf("%d games over in %.1f s, %d answers, %d errors, peak %d concurrent%n", games[0],
+            (System.nanoTime() - start) / 1e9, answers, games[1], peak);
+    }
+}
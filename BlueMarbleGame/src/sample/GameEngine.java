@@ -0,0 +1,848 @@
+package sample;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pure-Java rules of the game: board, players, dice, Golden Key deck and turn resolution.
+ * Nothing here touches JavaFX; the GameManager drives an engine and redraws itself through a GameListener,
+ * while headless games are played with GameEngine.playTurn() and each player's Decisions.
+ */
+class GameEngine {
+    final ArrayList<PlayerState> players;
+    final PlayerState[] seats;  // every Player by PlayerState.id, including the eliminated
+    final BoardState board;
+    final PropertyState[] properties = new PropertyState[Board.SIZE];  // null for non-Property spaces
+    final GoldenKeyDeck goldenKeyDeck;
+    final int[] goldenKeys;  // ring buffer of card indices in drawing order, starting at nextGoldenKey
+    int nextGoldenKey;
+    final long seed;
+    final GameRandom random;        // from the seed; only the engine draws from it
+    final DecisionLog log;
+    final GameListener listener;
+    GameJournal journal;            // NULL when the game isn't journaled
+    private boolean raisingFunds;   // sales are the debtor's choices, logged, while their DebtHandler is asked
+
+    static final int NO_GOLDEN_KEY = -1;
+
+    int turn;
+    TurnPhase phase = TurnPhase.ROLL;
+    int goldenKey = NO_GOLDEN_KEY;  // card drawn in RESOLVE, applied in DECIDE
+    boolean worldTour;              // the MOVE is a World Tour: the turn ends on arrival
+    int die1, die2;
+    boolean gotDouble;
+    long welfare;  // in thousands of dollars
+    boolean freeSpaceStation;
+
+    /**
+     * Sets up the board and shuffles the Golden Key deck. The first Player to go is chosen randomly.
+     *
+     * @param players  players in turn order, with the ids 0 to (# players - 1)
+     * @param deck     the Golden Key cards
+     * @param seed     seed of every random decision of this game (dice, deck order, first Player)
+     * @param listener notified of every state change; may be NULL
+     */
+    GameEngine(List<PlayerState> players, GoldenKeyDeck deck, long seed, GameListener listener) {
+        this.players = new ArrayList<>(players);
+        seats = new PlayerState[players.size()];
+        for (PlayerState player : players) {
+            seats[player.id] = player;
+        }
+        this.seed = seed;
+        random = new GameRandom(seed);
+        log = new DecisionLog();
+        this.listener = listener != null ? listener : new GameListener() {
+        };
+        board = new BoardState();
+        createProperties();
+        goldenKeyDeck = deck;
+        goldenKeys = new int[deck.size()];
+        for (int i = 0; i < goldenKeys.length; i++) {
+            goldenKeys[i] = i;
+        }
+        for (int i = goldenKeys.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int card = goldenKeys[i];
+            goldenKeys[i] = goldenKeys[j];
+            goldenKeys[j] = card;
+        }
+        turn = random.nextInt(players.size());
+    }
+
+    /**
+     * Copies the state of another game, e.g. for a snapshot or to search ahead; both then play on alone.
+     * The players are copies keeping the same Decisions and DebtHandlers. The copy isn't journaled.
+     *
+     * @param listener notified of every state change of the copy; may be NULL
+     */
+    GameEngine(GameEngine other, GameListener listener) {
+        this(other, listener, new DecisionLog(other.log));
+    }
+
+    /**
+     * Copies the state of another game with the given DecisionLog, e.g. DecisionLog.DISCARD for a rollout that
+     * nobody replays, so the copy doesn't carry the whole history of the game
+     *
+     * @param listener notified of every state change of the copy; may be NULL
+     */
+    GameEngine(GameEngine other, GameListener listener, DecisionLog log) {
+        seats = new PlayerState[other.seats.length];
+        for (int i = 0; i < seats.length; i++) {
+            seats[i] = new PlayerState(other.seats[i]);
+        }
+        players = new ArrayList<>(other.players.size());
+        for (PlayerState player : other.players) {
+            players.add(seats[player.id]);
+        }
+        seed = other.seed;
+        random = new GameRandom(other.random);
+        this.log = log;
+        this.listener = listener != null ? listener : new GameListener() {
+        };
+        board = new BoardState(other.board);
+        createProperties();
+        goldenKeyDeck = other.goldenKeyDeck;
+        goldenKeys = other.goldenKeys.clone();
+        nextGoldenKey = other.nextGoldenKey;
+        turn = other.turn;
+        phase = other.phase;
+        goldenKey = other.goldenKey;
+        worldTour = other.worldTour;
+        die1 = other.die1;
+        die2 = other.die2;
+        gotDouble = other.gotDouble;
+        welfare = other.welfare;
+        freeSpaceStation = other.freeSpaceStation;
+    }
+
+    private void createProperties() {
+        for (int space = 0; space < Board.SIZE; space++) {
+            if (Board.isProperty(space)) {
+                properties[space] = new PropertyState(space, board, seats);
+            }
+        }
+    }
+
+    /**
+     * Records every action of this game from now on in the journal
+     */
+    void startJournal(GameJournal journal) {
+        this.journal = journal;
+        journal.gameStarted(seed, players.size(), currentPlayer().id);
+    }
+
+    /**
+     * Records every action of this game from now on in the journal, which already has its start, e.g. for a
+     * saved game resumed
+     *
+     * @param game id of this game in the journal (see GameJournal.game())
+     */
+    void resumeJournal(GameJournal journal, long game) {
+        this.journal = journal;
+        journal.gameResumed(game);
+    }
+
+    PlayerState currentPlayer() {
+        return players.get(turn);
+    }
+
+    boolean isOver() {
+        return players.size() <= 1;
+    }
+
+    /**
+     * @return the last Player remaining; NULL if the game isn't over
+     */
+    PlayerState winner() {
+        return isOver() ? players.get(0) : null;
+    }
+
+    /**
+     * END_TURN: switches turn to the next Player; if double, the same Player goes again. Then ROLL.
+     *
+     * @return the next Player
+     */
+    PlayerState nextTurn() {
+        if (gotDouble) {
+            gotDouble = false;
+        } else if (++turn >= players.size()) {
+            turn = 0;
+        }
+        PlayerState next = players.get(turn);
+        phase = TurnPhase.ROLL;
+        if (journal != null)
+            journal.turnEnded(next);
+        return next;
+    }
+
+    /**
+     * Rolls two dice; their values are kept in die1 and die2
+     *
+     * @return total value of dice
+     */
+    int rollDice() {
+        die1 = random.nextInt(6) + 1;
+        die2 = random.nextInt(6) + 1;
+        gotDouble = die1 == die2;
+        if (journal != null)
+            journal.diceRolled(currentPlayer(), die1, die2);
+        return die1 + die2;
+    }
+
+    /**
+     * Called before a Player moves by the dice. A double frees the Player from Deserted Island.
+     *
+     * @throws DesertedIslandException thrown if Player is still stuck in Deserted Island
+     */
+    void leaveDesertedIsland(PlayerState player) {
+        if (gotDouble)
+            player.turnsLeftOnDesertedIsland = 0;
+        if (player.turnsLeftOnDesertedIsland > 0) {
+            player.turnsLeftOnDesertedIsland--;
+            throw new DesertedIslandException("SOS");
+        }
+    }
+
+    void useEscapeDesertedIsland(PlayerState player) {
+        player.escapeDesertedIsland = false;
+        player.turnsLeftOnDesertedIsland = 0;
+    }
+
+    /**
+     * Moves the Player by the specified number of spaces; passing GO pays the $2.00M salary
+     *
+     * @param delta number of spaces to move; negative only from "Moving Day" Golden Key cards
+     * @return the new space index of Player (how many spaces from GO)
+     */
+    int move(PlayerState player, int delta) {
+        int space = player.space + delta;
+        if (delta > 0 && space >= Board.SIZE) {
+            changeMoney(player, Board.SALARY * (space / Board.SIZE));
+        }
+        player.space = Math.floorMod(space, Board.SIZE);
+        if (journal != null)
+            journal.moved(player);
+        return player.space;
+    }
+
+    /**
+     * Moves the Player forward to the specified space index
+     *
+     * @return number of spaces moved
+     */
+    int moveTo(PlayerState player, int destination) {
+        if (destination < player.space) {
+            destination += Board.SIZE;
+        }
+        int delta = destination - player.space;
+        move(player, delta);
+        return delta;
+    }
+
+    /**
+     * The Player on Space Station freely chooses their destination
+     *
+     * @param destination space index [0,39] other than Space Station
+     * @return number of spaces moved
+     */
+    int travelFromSpaceStation(PlayerState player, int destination) {
+        if (destination == Board.SPACE_STATION)
+            throw new IllegalArgumentException("No. You're not coming back here.");
+        player.spaceStation = false;
+        return moveTo(player, destination);
+    }
+
+    /**
+     * Player is stuck in the Deserted Island for 3 turns, and loses any double they rolled
+     */
+    void landOnDesertedIsland(PlayerState player) {
+        gotDouble = false;
+        player.space = Board.DESERTED_ISLAND;
+        player.turnsLeftOnDesertedIsland = 3;
+        if (journal != null)
+            journal.moved(player);
+    }
+
+    void collectWelfare(PlayerState player) {
+        changeMoney(player, welfare);
+        welfare = 0;
+        listener.welfareChanged(welfare);
+        if (journal != null)
+            journal.welfareChanged(welfare);
+    }
+
+    /**
+     * Player enters Space Station, paying the $2.00M entry fee to the owner of Columbia unless the entry
+     * is free (from a Golden Key) or they own Columbia themselves.
+     *
+     * @throws NotEnoughMoneyException thrown if Player can't afford the entry fee
+     */
+    void enterSpaceStation(PlayerState player) {
+        if (freeSpaceStation) {
+            freeSpaceStation = false;
+        } else {
+            PlayerState owner = properties[Board.COLUMBIA].owner();
+            if (owner != player) {
+                changeMoney(player, -Board.SPACE_STATION_FEE);
+                if (owner != null)
+                    changeMoney(owner, Board.SPACE_STATION_FEE);
+            }
+        }
+        player.spaceStation = true;
+    }
+
+    /**
+     * Player donates $1.50M to Welfare Zone
+     */
+    void payWelfareTax(PlayerState player) {
+        settle(player, null, Board.WELFARE_TAX, BankruptcyCause.WELFARE_TAX);
+        welfare += Board.WELFARE_TAX;
+        listener.welfareChanged(welfare);
+        if (journal != null)
+            journal.welfareChanged(welfare);
+    }
+
+    /**
+     * Player purchases an unowned property
+     *
+     * @throws NotEnoughMoneyException thrown if Player can't afford the property
+     */
+    void purchase(PlayerState player, PropertyState property) {
+        changeMoney(player, -property.price());
+        property.setOwner(player);
+        addHolding(player, property);
+        if (journal != null)
+            journal.purchased(player, property);
+        listener.propertyChanged(property);
+    }
+
+    /**
+     * Player constructs/sells buildings at their regular property, paying or receiving the difference
+     *
+     * @param configuration configuration number of the buildings to have (see PropertyState)
+     * @throws NotEnoughMoneyException thrown if Player can't afford the buildings
+     */
+    void build(PlayerState player, PropertyState property, int configuration) {
+        long refund = property.price() - property.priceWith(configuration);
+        changeMoney(player, refund);
+        if (raisingFunds) {
+            decided(DecisionLog.BUILDING_SALE);
+            decided(property.space);
+            decided(configuration);
+        }
+        removeHolding(player, property);
+        property.construct(configuration);
+        addHolding(player, property);
+        if (journal != null)
+            journal.built(player, property, -refund);
+        listener.propertyChanged(property);
+    }
+
+    /**
+     * @param request {# HOUSES to have, # OFFICE BUILDINGS to have, # HOTELS to have}
+     * @throws NotEnoughMoneyException thrown if Player can't afford the buildings
+     */
+    void build(PlayerState player, PropertyState property, int[] request) {
+        build(player, property, PropertyState.configuration(request));
+    }
+
+    /**
+     * Sells property (and all its buildings) to the banker
+     */
+    void sell(PlayerState player, PropertyState sold) {
+        if (raisingFunds) {
+            decided(DecisionLog.SALE);
+            decided(sold.space);
+        }
+        long price = sold.price();
+        sold.setOwner(null);
+        changeMoney(player, price);
+        removeHolding(player, sold);
+        sold.deconstruct();
+        if (journal != null)
+            journal.sold(player, sold, price);
+        listener.propertyChanged(sold);
+    }
+
+    /**
+     * Gives a Property back to its owner with its buildings, when loading a saved game; nobody is notified
+     */
+    void restoreProperty(PlayerState owner, PropertyState property, int configuration) {
+        property.construct(configuration);
+        property.setOwner(owner);
+        addHolding(owner, property);
+    }
+
+    /**
+     * Sets a Property as a game played elsewhere reports it, on a copy only showing that game (see RemoteGame);
+     * nobody is notified
+     *
+     * @param owner NULL for the banker
+     */
+    void mirrorProperty(PlayerState owner, PropertyState property, int configuration) {
+        PlayerState previous = property.owner();
+        if (previous != null)
+            removeHolding(previous, property);
+        property.setOwner(owner);
+        property.construct(configuration);
+        if (owner != null)
+            addHolding(owner, property);
+    }
+
+    /**
+     * Adds the property, as it's built now, to the Player's ownership mask and aggregates
+     */
+    private void addHolding(PlayerState player, PropertyState property) {
+        player.owned |= 1L << property.space;
+        player.assets += property.price();
+        for (int i = 0; i < 3; i++) {
+            player.buildings[i] += property.getBuildings(i);
+        }
+        if (player.mostExpensive == PlayerState.NONE || pricier(property.space, player.mostExpensive))
+            player.mostExpensive = property.space;
+    }
+
+    /**
+     * Takes the property, as it's built now, out of the Player's ownership mask and aggregates
+     */
+    private void removeHolding(PlayerState player, PropertyState property) {
+        player.owned &= ~(1L << property.space);
+        player.assets -= property.price();
+        for (int i = 0; i < 3; i++) {
+            player.buildings[i] -= property.getBuildings(i);
+        }
+        if (player.mostExpensive == property.space) {
+            // only losing the most expensive property needs a scan of what's left
+            player.mostExpensive = PlayerState.NONE;
+            for (long owned = player.owned; owned != 0; owned &= owned - 1) {
+                int space = Long.numberOfTrailingZeros(owned);
+                if (player.mostExpensive == PlayerState.NONE || pricier(space, player.mostExpensive))
+                    player.mostExpensive = space;
+            }
+        }
+    }
+
+    /**
+     * @return whether the property on the space is priced higher than the other, or priced the same and comes first
+     */
+    private boolean pricier(int space, int other) {
+        long price = board.prices[space];
+        long otherPrice = board.prices[other];
+        return price > otherPrice || price == otherPrice && space < other;
+    }
+
+    void payRent(PlayerState player, PropertyState property) {
+        PlayerState owner = property.owner();
+        long rent = property.rent();
+        if (settle(player, owner, rent, BankruptcyCause.RENT) && journal != null)
+            journal.rentPaid(player, owner, property, rent);
+    }
+
+    void useComplimentaryTicket(PlayerState player) {
+        player.complimentaryTickets--;
+    }
+
+    /**
+     * Draws the top card of the stack of Golden Keys and returns it to the bottom.
+     *
+     * @return index of the Golden Key card drawn in the GoldenKeyDeck
+     */
+    int drawGoldenKeyCard() {
+        int drawn = goldenKeys[nextGoldenKey];
+        if (++nextGoldenKey == goldenKeys.length)
+            nextGoldenKey = 0;
+        if (journal != null)
+            journal.goldenKeyDrawn(currentPlayer(), drawn);
+        return drawn;
+    }
+
+    /**
+     * @param card index of the Golden Key card in the GoldenKeyDeck
+     * @return the building maintenance fee the card charges the Player; 0 if it isn't a BUILDING_FEE card
+     */
+    long goldenKeyFee(PlayerState player, int card) {
+        GoldenKeyEffect effect = goldenKeyDeck.effects[card];
+        return effect instanceof GoldenKeyEffect.BuildingFee ? ((GoldenKeyEffect.BuildingFee) effect).fee(player) : 0;
+    }
+
+    /**
+     * @return the Player's most expensive property; NULL if they have none
+     */
+    PropertyState mostExpensiveProperty(PlayerState player) {
+        return player.mostExpensive == PlayerState.NONE ? null : properties[player.mostExpensive];
+    }
+
+    /**
+     * Applies the effect of a Golden Key card to the Player who drew it
+     *
+     * @param card index of the Golden Key card in the GoldenKeyDeck
+     * @return number of spaces the Player moved (negative if backwards); 0 if they didn't move
+     */
+    int applyGoldenKey(PlayerState player, int card) {
+        return goldenKeyDeck.effects[card].apply(this, player);
+    }
+
+    /**
+     * @return TRUE if the card sends the Player around the board (their landing isn't resolved again)
+     */
+    boolean isWorldTour(int card) {
+        return goldenKeyDeck.effects[card] instanceof GoldenKeyEffect.WorldTour;
+    }
+
+    /**
+     * Changes Player's money amount
+     *
+     * @param amount amount changed
+     * @throws NotEnoughMoneyException thrown if Player attempts to pay more than their current balance
+     */
+    void changeMoney(PlayerState player, long amount) {
+        if (amount < 0 && player.money < -amount)
+            throw new NotEnoughMoneyException();
+        player.money += amount;
+        listener.moneyChanged(player);
+    }
+
+    /**
+     * Player pays another by the specified amount, asking their DebtHandler to raise funds if they can't
+     *
+     * @param payee the Player to whom the payer pays; NULL if paid to the Banker
+     * @throws BankruptcyException thrown if the payer couldn't raise enough money
+     */
+    void pay(PlayerState payer, PlayerState payee, long amount) throws BankruptcyException {
+        while (payer.money < amount) {
+            long before = payer.money;
+            if (payer.debtHandler == null || !raiseFunds(payer, payee, payer.money - amount) ||
+                payer.money <= before) {
+                throw new BankruptcyException(payee);
+            }
+        }
+        changeMoney(payer, -amount);
+        if (payee != null) {
+            changeMoney(payee, amount);
+        }
+    }
+
+    /**
+     * Asks the debtor's DebtHandler to raise funds, logging their sales and whether they covered the debt
+     */
+    private boolean raiseFunds(PlayerState debtor, PlayerState creditor, long debt) {
+        boolean covered;
+        raisingFunds = true;
+        try {
+            covered = debtor.debtHandler.raiseFunds(this, debtor, creditor, debt);
+        } finally {
+            raisingFunds = false;
+        }
+        decided(DecisionLog.END_OF_SALES);
+        decided(covered ? 1 : 0);
+        return covered;
+    }
+
+    /**
+     * Records a choice a player made in the DecisionLog. Human players' choices are recorded by the
+     * GameManager; playTurn() records those of the Decisions it asks.
+     *
+     * @return the choice
+     */
+    boolean choose(boolean answer) {
+        decided(answer ? 1 : 0);
+        return answer;
+    }
+
+    int choose(int answer) {
+        decided(answer);
+        return answer;
+    }
+
+    private void decided(int entry) {
+        log.record(entry);
+        if (journal != null)
+            journal.decided(entry);
+    }
+
+    /**
+     * Like pay(), but eliminates the payer if they go bankrupt
+     *
+     * @param cause what the payer is paying for
+     * @return TRUE if paid; FALSE if the payer was eliminated
+     */
+    boolean settle(PlayerState payer, PlayerState payee, long amount, BankruptcyCause cause) {
+        try {
+            pay(payer, payee, amount);
+            return true;
+        } catch (BankruptcyException e) {
+            eliminate(payer, e.shark, cause);
+            return false;
+        }
+    }
+
+    /**
+     * Remove Player from the game. Their properties (and money) go to whom they owed, or back to the bank.
+     *
+     * @param loser Player eliminated
+     * @param shark Player to whom the eliminated owes debt; NULL if owed to the Banker.
+     * @param cause what the eliminated couldn't pay for
+     */
+    void eliminate(PlayerState loser, PlayerState shark, BankruptcyCause cause) {
+        long lost = loser.owned;
+        for (long owned = lost; owned != 0; owned &= owned - 1) {
+            PropertyState property = properties[Long.numberOfTrailingZeros(owned)];
+            property.setOwner(shark);
+            if (shark == null)
+                property.deconstruct();
+            else
+                addHolding(shark, property);
+        }
+        if (shark != null)
+            changeMoney(shark, loser.money);
+        loser.owned = 0;
+        loser.assets = 0;
+        loser.mostExpensive = PlayerState.NONE;
+        loser.money = 0;
+        Arrays.fill(loser.buildings, 0);
+
+        int index = players.indexOf(loser);
+        players.remove(index);
+        if (index == turn)
+            gotDouble = false;
+        if (index <= turn)
+            turn--;
+
+        for (long owned = lost; owned != 0; owned &= owned - 1) {
+            listener.propertyChanged(properties[Long.numberOfTrailingZeros(owned)]);
+        }
+        if (journal != null)
+            journal.eliminated(loser, shark, cause);
+        listener.playerEliminated(loser, shark, cause);
+    }
+
+    /**
+     * ROLL: rolls the dice and moves the current Player by them. Then MOVE, or END_TURN if they're still
+     * stuck on Deserted Island.
+     *
+     * @return number of spaces moved; 0 if stuck
+     * @throws IllegalStateException thrown if the turn isn't in ROLL
+     */
+    int roll() {
+        expect(TurnPhase.ROLL);
+        PlayerState player = currentPlayer();
+        int moveSpaces = rollDice();
+        try {
+            leaveDesertedIsland(player);
+        } catch (DesertedIslandException stuck) {
+            phase = TurnPhase.END_TURN;
+            return 0;
+        }
+        move(player, moveSpaces);
+        phase = TurnPhase.MOVE;
+        return moveSpaces;
+    }
+
+    /**
+     * ROLL: the current Player on Space Station travels to their destination. Then MOVE.
+     *
+     * @param destination space index [0,39] other than Space Station
+     * @return number of spaces moved
+     * @throws IllegalStateException thrown if the turn isn't in ROLL
+     */
+    int travel(int destination) {
+        expect(TurnPhase.ROLL);
+        int moved = travelFromSpaceStation(currentPlayer(), destination);
+        phase = TurnPhase.MOVE;
+        return moved;
+    }
+
+    /**
+     * MOVE: the current Player arrived at their space. Then RESOLVE, or END_TURN after a World Tour.
+     *
+     * @throws IllegalStateException thrown if the turn isn't in MOVE
+     */
+    void arrive() {
+        expect(TurnPhase.MOVE);
+        phase = worldTour ? TurnPhase.END_TURN : TurnPhase.RESOLVE;
+        worldTour = false;
+    }
+
+    /**
+     * RESOLVE: what the current Player's space does by itself. A Golden Key space draws the card to apply;
+     * a free entry to Space Station is used right away. Then DECIDE, or END_TURN.
+     *
+     * @throws IllegalStateException thrown if the turn isn't in RESOLVE
+     */
+    void resolve() {
+        expect(TurnPhase.RESOLVE);
+        PlayerState player = currentPlayer();
+        if (Board.isGoldenKey(player.space)) {
+            goldenKey = drawGoldenKeyCard();
+        } else if (player.space == Board.SPACE_STATION && freeSpaceStation) {
+            enterSpaceStation(player);
+            phase = TurnPhase.END_TURN;
+            return;
+        }
+        phase = TurnPhase.DECIDE;
+    }
+
+    /**
+     * DECIDE: applies the Golden Key card drawn. Then MOVE if it moved the current Player, END_TURN otherwise.
+     *
+     * @return number of spaces moved (negative if backwards); 0 if they didn't move
+     * @throws IllegalStateException thrown if the turn isn't in DECIDE
+     */
+    int applyGoldenKey() {
+        expect(TurnPhase.DECIDE);
+        PlayerState player = currentPlayer();
+        int card = goldenKey;
+        goldenKey = NO_GOLDEN_KEY;
+        int moved = applyGoldenKey(player, card);
+        if (moved != 0 && players.contains(player)) {
+            worldTour = isWorldTour(card);
+            phase = TurnPhase.MOVE;
+        } else {
+            phase = TurnPhase.END_TURN;
+        }
+        return moved;
+    }
+
+    /**
+     * DECIDE: the current Player's decision on their space was carried out. Then END_TURN.
+     *
+     * @throws IllegalStateException thrown if the turn isn't in DECIDE
+     */
+    void decided() {
+        expect(TurnPhase.DECIDE);
+        phase = TurnPhase.END_TURN;
+    }
+
+    /**
+     * @throws IllegalStateException thrown if the turn is in another phase, e.g. a second roll in END_TURN
+     */
+    private void expect(TurnPhase expected) {
+        if (phase != expected)
+            throw new IllegalStateException(expected + " in " + phase);
+    }
+
+    /**
+     * Advances the turn by one phase, with the current Player's Decisions; headless drivers have nothing to
+     * show between phases. END_TURN passes the turn unless the game is over.
+     */
+    void step() {
+        if (phase == TurnPhase.END_TURN) {
+            if (!isOver())
+                nextTurn();
+            return;
+        }
+        switch (phase) {
+            case ROLL:
+                playRoll();
+                break;
+            case MOVE:
+                arrive();
+                break;
+            case RESOLVE:
+                resolve();
+                break;
+            case DECIDE:
+                playDecision();
+                break;
+        }
+    }
+
+    /**
+     * ROLL with the current Player's Decisions: they travel from Space Station, or use their Deserted Island
+     * escape or not and roll
+     *
+     * @return number of spaces moved; 0 if stuck
+     */
+    int playRoll() {
+        PlayerState player = currentPlayer();
+        Decisions decisions = player.decisions;
+        if (player.spaceStation)
+            return travel(choose(decisions.spaceStationDestination(this, player)));
+        if (player.turnsLeftOnDesertedIsland > 0 && player.escapeDesertedIsland &&
+            choose(decisions.useEscapeDesertedIsland(this, player))) {
+            useEscapeDesertedIsland(player);
+        }
+        return roll();
+    }
+
+    /**
+     * DECIDE with the current Player's Decisions
+     *
+     * @return number of spaces a Golden Key card moved them; 0 if it didn't, or it wasn't a Golden Key
+     */
+    int playDecision() {
+        if (goldenKey != NO_GOLDEN_KEY)
+            return applyGoldenKey();
+        decide(currentPlayer());
+        decided();
+        return 0;
+    }
+
+    /**
+     * Plays the rest of the current Player's turn with their Decisions, then passes the turn.
+     */
+    void playTurn() {
+        do {
+            step();
+        } while (phase != TurnPhase.ROLL && !(phase == TurnPhase.END_TURN && isOver()));
+    }
+
+    /**
+     * Headless counterpart of the GameManager's popups: the Player decides on the space they landed on, other
+     * than a Golden Key, with their Decisions.
+     */
+    private void decide(PlayerState player) {
+        Decisions decisions = player.decisions;
+        int space = player.space;
+        switch (space) {
+            case Board.GO:
+                break;
+            case Board.DESERTED_ISLAND:
+                landOnDesertedIsland(player);
+                break;
+            case Board.WELFARE_ZONE:
+                collectWelfare(player);
+                break;
+            case Board.SPACE_STATION:
+                if (choose(decisions.enterSpaceStation(this, player))) {
+                    try {
+                        enterSpaceStation(player);
+                    } catch (NotEnoughMoneyException e) {
+                        // can't afford a ticket to Space Station
+                    }
+                }
+                break;
+            case Board.WELFARE_PAY:
+                payWelfareTax(player);
+                break;
+            default:
+                PropertyState property = properties[space];
+                if (property.owner() == null) {
+                    if (choose(decisions.purchase(this, player, property))) {
+                        try {
+                            purchase(player, property);
+                        } catch (NotEnoughMoneyException e) {
+                            // can't afford this property
+                        }
+                    }
+                } else if (property.owner() != player) {
+                    if (player.complimentaryTickets > 0 &&
+                        choose(decisions.useComplimentaryTicket(this, player, property))) {
+                        useComplimentaryTicket(player);
+                    } else {
+                        payRent(player, property);
+                    }
+                } else if (property.regular) {
+                    int configuration = choose(decisions.build(this, player, property));
+                    if (configuration != Decisions.KEEP_BUILDINGS) {
+                        try {
+                            build(player, property, configuration);
+                        } catch (NotEnoughMoneyException e) {
+                            // can't afford these buildings
+                        }
+                    }
+                }
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package sample;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only binary journal of every action of a game: dice rolls, moves, purchases, buildings, sales, rent,
+ * Golden Key draws, welfare and eliminations, and every entry of its DecisionLog, so that GameReplay can
+ * rebuild the game from the journal. Records are buffered in memory and written to the file as one
+ * frame per turn (group commit), so journaling costs a few buffer writes per action and one write call per
+ * turn. Nothing is forced to disk; a crash loses at most the turn being played.
+ * <p>
+ * FORMAT: "BMJL", version, then frames of {id of the game (8 bytes), payload length (4 bytes), records}.
+ * The id of a game is the byte offset of its first frame, which starts with its GAME_STARTED record, so games
+ * are told apart even when their seeds repeat. Each frame is written with one call on a channel opened for
+ * appending, so games journaled by several threads sharing the channel keep their frames whole; the file is
+ * written by one process at a time. A record is its type followed by varints: player ids, spaces, dice and
+ * cards are unsigned; money and seeds are zigzag-encoded.
+ * <p>
+ * Usage: java sample.GameJournal (journal file), prints every record
+ */
+final class GameJournal {
+    static final int MAGIC = 0x424D4A4C;  // "BMJL"
+    static final int VERSION = 3;
+    static final String FILE_NAME = "games.journal";
+    static final int BUFFER_SIZE = 16 * 1024;
+    static final int FRAME_HEADER = 12;
+    static final int MAX_RECORD = 64;
+    static final long UNASSIGNED = -1;      // id of a game whose first frame isn't written yet
+
+    static final int GAME_STARTED = 1;      // # players, first player, seed
+    static final int DICE_ROLLED = 2;       // player, die1, die2
+    static final int MOVED = 3;             // player, space
+    static final int PURCHASED = 4;         // player, space, price
+    static final int BUILT = 5;             // player, space, configuration, cost (negative when selling)
+    static final int SOLD = 6;              // player, space, price
+    static final int RENT_PAID = 7;         // payer, owner, space, rent
+    static final int GOLDEN_KEY_DRAWN = 8;  // player, card
+    static final int WELFARE_CHANGED = 9;   // welfare
+    static final int ELIMINATED = 10;       // loser, shark + 1 (0 if the Banker), BankruptcyCause ordinal
+    static final int TURN_ENDED = 11;       // next player
+    static final int DECIDED = 12;          // DecisionLog entry
+
+    private static final String[] NAMES = {null, "GAME_STARTED", "DICE_ROLLED", "MOVED", "PURCHASED", "BUILT",
+        "SOLD", "RENT_PAID", "GOLDEN_KEY_DRAWN", "WELFARE_CHANGED", "ELIMINATED", "TURN_ENDED", "DECIDED"};
+    // # of unsigned fields, then # of signed fields of each record type; signed fields come last
+    private static final int[][] FIELDS = {null, {2, 1}, {3, 0}, {2, 0}, {2, 1}, {3, 1}, {2, 1}, {3, 1}, {2, 0},
+        {0, 1}, {3, 0}, {1, 0}, {0, 1}};
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long game = UNASSIGNED;  // id of the game journaled
+    private IOException failure;
+
+    /**
+     * @param channel a journal file from open(), possibly shared with other GameJournals
+     */
+    GameJournal(FileChannel channel) {
+        this.channel = channel;
+        buffer.position(FRAME_HEADER);
+    }
+
+    /**
+     * Opens a journal file for appending, writing its header if it's new
+     *
+     * @throws IOException thrown if the file can't be opened or isn't a journal
+     */
+    static FileChannel open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(8).putInt(MAGIC).putInt(VERSION);
+                header.flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(8);
+                try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                    in.read(header, 0);
+                }
+                if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION)
+                    throw new IOException(file + " is not a game journal of version " + VERSION);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /**
+     * @return the first write error, after which nothing more was written; NULL if none
+     */
+    IOException failure() {
+        return failure;
+    }
+
+    void gameStarted(long seed, int players, int firstPlayer) {
+        commit();
+        game = UNASSIGNED;
+        begin(GAME_STARTED);
+        putUnsigned(players);
+        putUnsigned(firstPlayer);
+        putSigned(seed);
+    }
+
+    /**
+     * Continues a game started earlier in the file
+     *
+     * @param game id of the game, from game() when it was saved
+     */
+    void gameResumed(long game) {
+        commit();
+        this.game = game;
+    }
+
+    /**
+     * @return id of the game journaled, writing its first frame if it isn't yet; UNASSIGNED if nothing could
+     * be written
+     */
+    long game() {
+        if (game == UNASSIGNED)
+            commit();
+        return game;
+    }
+
+    void diceRolled(PlayerState player, int die1, int die2) {
+        begin(DICE_ROLLED);
+        putUnsigned(player.id);
+        putUnsigned(die1);
+        putUnsigned(die2);
+    }
+
+    void moved(PlayerState player) {
+        begin(MOVED);
+        putUnsigned(player.id);
+        putUnsigned(player.space);
+    }
+
+    void purchased(PlayerState player, PropertyState property) {
+        begin(PURCHASED);
+        putUnsigned(player.id);
+        putUnsigned(property.space);
+        putSigned(property.price());
+    }
+
+    void built(PlayerState player, PropertyState property, long cost) {
+        begin(BUILT);
+        putUnsigned(player.id);
+        putUnsigned(property.space);
+        putUnsigned(property.getConfiguration());
+        putSigned(cost);
+    }
+
+    void sold(PlayerState player, PropertyState property, long price) {
+        begin(SOLD);
+        putUnsigned(player.id);
+        putUnsigned(property.space);
+        putSigned(price);
+    }
+
+    void rentPaid(PlayerState payer, PlayerState owner, PropertyState property, long rent) {
+        begin(RENT_PAID);
+        putUnsigned(payer.id);
+        putUnsigned(owner.id);
+        putUnsigned(property.space);
+        putSigned(rent);
+    }
+
+    void goldenKeyDrawn(PlayerState player, int card) {
+        begin(GOLDEN_KEY_DRAWN);
+        putUnsigned(player.id);
+        putUnsigned(card);
+    }
+
+    void welfareChanged(long welfare) {
+        begin(WELFARE_CHANGED);
+        putSigned(welfare);
+    }
+
+    void eliminated(PlayerState loser, PlayerState shark, BankruptcyCause cause) {
+        begin(ELIMINATED);
+        putUnsigned(loser.id);
+        putUnsigned(shark == null ? 0 : shark.id + 1);
+        putUnsigned(cause.ordinal());
+    }
+
+    void decided(int entry) {
+        begin(DECIDED);
+        putSigned(entry);
+    }
+
+    /**
+     * Records the end of a turn and writes the turn's records to the file
+     */
+    void turnEnded(PlayerState next) {
+        begin(TURN_ENDED);
+        putUnsigned(next.id);
+        commit();
+    }
+
+    /**
+     * Writes the buffered records to the file as one frame
+     */
+    void commit() {
+        int length = buffer.position() - FRAME_HEADER;
+        if (length == 0)
+            return;
+        if (failure == null) {
+            // the journals sharing the channel take turns, so a new game's id is where its frame lands
+            synchronized (channel) {
+                try {
+                    if (game == UNASSIGNED)
+                        game = channel.size();
+                    buffer.putLong(0, game).putInt(8, length);
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+        }
+        buffer.clear();
+        buffer.position(FRAME_HEADER);
+    }
+
+    /**
+     * Starts a record, committing the frame first if the record might not fit
+     */
+    private void begin(int type) {
+        if (buffer.remaining() < MAX_RECORD)
+            commit();
+        buffer.put((byte) type);
+    }
+
+    private void putUnsigned(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void putSigned(long value) {
+        putUnsigned(value << 1 ^ value >> 63);
+    }
+
+    private static long getUnsigned(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+    }
+
+    private static long getSigned(ByteBuffer in) {
+        long value = getUnsigned(in);
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    /**
+     * Reads the records of a journal file in order, from a memory mapping of the whole file
+     */
+    static final class Reader {
+        private final ByteBuffer in;
+        private final long[] fields = new long[4];
+        private int end;
+        private int frame;  // byte offset of the frame of the record
+        private long game;
+        private int type;
+
+        /**
+         * @throws IOException thrown if the file can't be read or isn't a journal of this version
+         */
+        Reader(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (in.remaining() < 8 || in.getInt() != MAGIC || in.getInt() != VERSION)
+                throw new IOException(file + " is not a game journal of version " + VERSION);
+            end = in.position();
+        }
+
+        /**
+         * Moves to the next record
+         *
+         * @return false at the end of the file
+         * @throws IOException thrown if the record is corrupt
+         */
+        boolean next() throws IOException {
+            if (in.position() == end) {
+                if (!in.hasRemaining())
+                    return false;
+                if (in.remaining() < FRAME_HEADER)
+                    throw new IOException("Truncated frame at byte " + in.position());
+                frame = in.position();
+                game = in.getLong();
+                end = in.getInt() + in.position();
+                if (end > in.limit())
+                    throw new IOException("Truncated frame at byte " + (in.position() - FRAME_HEADER));
+            }
+            type = in.get();
+            if (type <= 0 || type >= NAMES.length)
+                throw new IOException("Unknown record type " + type + " at byte " + (in.position() - 1));
+            int unsigned = FIELDS[type][0];
+            for (int i = 0; i < unsigned; i++) {
+                fields[i] = getUnsigned(in);
+            }
+            for (int i = unsigned; i < unsigned + FIELDS[type][1]; i++) {
+                fields[i] = getSigned(in);
+            }
+            if (type == GAME_STARTED && game != frame)
+                throw new IOException("Game started at byte " + frame + " has the id " + game +
+                    ": the file was written by two processes at once");
+            return true;
+        }
+
+        /**
+         * @return the id of the game of the record: the byte offset of its GAME_STARTED frame
+         */
+        long game() {
+            return game;
+        }
+
+        int type() {
+            return type;
+        }
+
+        int fieldCount() {
+            return FIELDS[type][0] + FIELDS[type][1];
+        }
+
+        long field(int index) {
+            return fields[index];
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Reader reader = new Reader(Paths.get(args[0]));
+        StringBuilder line = new StringBuilder();
+        while (reader.next()) {
+            line.setLength(0);
+            line.append(reader.game()).append(' ').append(NAMES[reader.type()]);
+            for (int i = 0; i < reader.fieldCount(); i++) {
+                line.append(' ').append(reader.field(i));
+            }
+            System.out.println(line);
+        }
+    }
+}
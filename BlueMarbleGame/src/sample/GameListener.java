@@ -0,0 +1,23 @@
+package sample;
+
+/**
+ * Notified by the GameEngine whenever its state changes, so that a view can redraw itself.
+ */
+interface GameListener {
+    default void moneyChanged(PlayerState player) {
+    }
+
+    default void propertyChanged(PropertyState property) {
+    }
+
+    default void welfareChanged(long welfare) {
+    }
+
+    /**
+     * @param loser player eliminated
+     * @param shark player to whom the eliminated owed debt; NULL if owed to the Banker.
+     * @param cause what the eliminated couldn't pay for
+     */
+    default void playerEliminated(PlayerState loser, PlayerState shark, BankruptcyCause cause) {
+    }
+}
@@ -1,8 +1,10 @@
 package sample;
 
 import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
 import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.geometry.HPos;
 import javafx.geometry.Pos;
@@ -12,16 +14,13 @@ import javafx.scene.control.*;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
-import javafx.scene.media.AudioClip;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.*;
 
@@ -30,35 +29,48 @@ import static sample.FillSpaceToPropertyMap.fill;
 /**
  * GameManager class controlling the main game play
  */
-class GameManager {
+class GameManager implements GameListener {
+    static final double INFORMATION_MILLIS = 1500;  // how long informational popups stay up in real time
+    static final long BATCH_NANOS = 16_000_000;     // INSTANT Bot turns played between two redraws
     ArrayList<Player> players;
-    int turn;
+    Player[] playerViews;  // indexed by PlayerState.id; unlike players, never shrinks
+    GameEngine engine;
+    GameSave.Autosaver autosaver;  // saves the game after every turn
+    WinEstimator winEstimator;     // estimates the chances to win after every turn
+    String[] planes;               // plane color of every seat, by PlayerState.id
     VBox gameBox;
     GridPane playerGridPane;
 
     Label playerTurnLabel;
 
     boolean rollingPhase;
+    GameSpeed speed = GameSpeed.REAL_TIME;
+    private boolean batching;     // INSTANT Bot turns being played: views are refreshed once afterwards
+    private int staleMoney;       // bit (1 << PlayerState.id) of every money label to refresh after the batch
+    private long staleProperties; // bit (1L << space) of every Property view to refresh after the batch
+    private int popupsShown;      // tells apart the landings, for popups closing by themselves
 
     ImageView die1, die2;
     Button rollButton;
-    boolean gotDouble;
     HashMap<Integer, Image> dice;
 
     final Timeline rollingDiceAnimation = new Timeline();
-    final Random random = new Random();
+    final Random cosmeticRandom = new Random();  // dice animation only; the game draws from its own seed
 
-    double welfare;
     Label welfareText;
 
-    boolean freeSpaceStation;
-    boolean worldTour;
-
-    static Stage popup;
-    final HashMap<Integer, Property> spaceToProperty = new HashMap<>();
-    final LinkedList<GoldenKey> goldenKeys;
-
-    public GameManager(VBox vBox, GridPane playerGridPane) throws FileNotFoundException {
+    final Stage popup;
+    CornerPopup cornerPopup;
+    GoldenKeyPopup goldenKeyPopup;
+    PurchasePopup purchasePopup;
+    RentPopup rentPopup;
+    BuildPopup buildPopup;
+    final Property[] spaceToProperty = new Property[Board.SIZE];  // null for non-Property spaces
+    final GoldenKeyDeck goldenKeyDeck;
+    final GoldenKey[] goldenKeys;  // indexed like the cards of the GoldenKeyDeck
+    final LandingProbabilities landingProbabilities;
+
+    public GameManager(VBox vBox, GridPane playerGridPane) throws IOException {
         gameBox = vBox;
         this.playerGridPane = playerGridPane;
 
@@ -67,10 +79,10 @@ class GameManager {
 
         dice = new HashMap<>();
         for (int i = 1; i <= 6; i++) {
-            dice.put(i, new Image(new FileInputStream("img_dice/" + i + ".png")));
+            dice.put(i, ImageCache.get("img_dice/" + i + ".png"));
         }
 
-        die1 = new ImageView(dice.get(random.nextInt(6) + 1));
+        die1 = new ImageView(dice.get(cosmeticRandom.nextInt(6) + 1));
         die1.setFitWidth(64);
         die1.setFitHeight(64);
         GridPane.setHalignment(die1, HPos.CENTER);
@@ -79,7 +91,7 @@ class GameManager {
         die1.setFitWidth(playerGridPane.getColumnConstraints().get(5).getPrefWidth());
         die1.setFitHeight(playerGridPane.getRowConstraints().get(5).getPrefHeight());
 
-        die2 = new ImageView(dice.get(random.nextInt(6) + 1));
+        die2 = new ImageView(dice.get(cosmeticRandom.nextInt(6) + 1));
         die2.setFitWidth(64);
         die2.setFitHeight(64);
         GridPane.setHalignment(die2, HPos.CENTER);
@@ -92,56 +104,117 @@ class GameManager {
         rollingDiceAnimation.getKeyFrames().add(new KeyFrame(
             Duration.millis(16),
             actionEvent -> {
-                die1.setImage(dice.get(random.nextInt(6) + 1));
-                die2.setImage(dice.get(random.nextInt(6) + 1));
+                die1.setImage(dice.get(cosmeticRandom.nextInt(6) + 1));
+                die2.setImage(dice.get(cosmeticRandom.nextInt(6) + 1));
             }
         ));
 
-        rollingDiceAnimation.setOnFinished(onFinishedEvent -> {
-            int moveSpaces = rollDice();
-            try {
-                players.get(turn).move(moveSpaces, gotDouble);
-                rollingPhase = false;
-            } catch (DesertedIslandException e) {
-                Alert alert = new Alert(Alert.AlertType.INFORMATION);
-                alert.setTitle("You're still stuck in the Deserted Island");
-                alert.setHeaderText("You failed to escape the Deserted Island!");
-                alert.setContentText("You are stuck here for the next " +
-                    players.get(turn).getTurnsLeftOnDesertedIsland() + " turn(s).");
-                alert.show();
-                AudioClips.desertedIsland.play();
-                alert.setOnHidden(dialogEvent -> playerTurnLabel.setText(nextTurn().getName() + "'s turn."));
-            }
+        rollingDiceAnimation.setOnFinished(onFinishedEvent -> rolled());
 
-        });
-
-        welfareText = new Label(MoneyFormat.format(welfare));
+        welfareText = new Label(MoneyFormat.format(0));
         GridPane.setConstraints(welfareText, 1, 0);
         GridPane.setHalignment(welfareText, HPos.CENTER);
         GridPane.setValignment(welfareText, VPos.CENTER);
         playerGridPane.getChildren().add(welfareText);
 
-        goldenKeys = new LinkedList<>();
-        for (int i = 0; i < 30; i++) {
-            goldenKeys.add(new GoldenKey(new Image(new FileInputStream(
-                "img_goldenkeys/goldenkey" + i + ".jpg")), i));
+        goldenKeyDeck = GoldenKeyDeck.standard();
+        landingProbabilities = LandingProbabilities.solve(goldenKeyDeck);
+        goldenKeys = new GoldenKey[goldenKeyDeck.size()];
+        for (int i = 0; i < goldenKeys.length; i++) {
+            goldenKeys[i] = new GoldenKey(ImageCache.get(
+                "img_goldenkeys/goldenkey" + goldenKeyDeck.images[i] + ".jpg", 400, 300), i);
         }
-        Collections.shuffle(goldenKeys);
 
         popup = new Stage();
+        createPopups();
     }
 
     /**
-     * Places Players' planes on board, sets up dice, and begins the game.
-     * The first Player to go is chosen randomly.
+     * Begins a new game between the Players. The first Player to go is chosen randomly by the GameEngine.
      */
     public void beginGame() throws FileNotFoundException {
-        turn = random.nextInt(players.size());
+        List<PlayerState> states = new ArrayList<>(players.size());
+        playerViews = new Player[players.size()];
+        for (Player player : players) {
+            states.add(player.state);
+            playerViews[player.state.id] = player;
+        }
+        long seed = new SplittableRandom().nextLong();
+        engine = new GameEngine(states, goldenKeyDeck, seed, this);
+        try {
+            engine.startJournal(new GameJournal(GameJournal.open(Paths.get(GameJournal.FILE_NAME))));
+        } catch (IOException e) {
+            e.printStackTrace();  // the game is played without a journal
+        }
+        setUpBoard();
+        playerTurnLabel.setText(nextTurn().getName() + "'s turn.");
+        advance();
+    }
+
+    /**
+     * Continues a saved game from the start of the turn it was saved at
+     *
+     * @param save the game, with this GameManager as its listener
+     */
+    public void resumeGame(GameSave save) throws FileNotFoundException {
+        engine = save.game;
+        playerViews = new Player[engine.seats.length];
+        for (PlayerState state : engine.seats) {
+            playerViews[state.id] = new Player(state);
+            playerViews[state.id].setPlaneColor(save.planes[state.id]);
+        }
+        players = new ArrayList<>(engine.players.size());
+        for (PlayerState state : engine.players) {
+            players.add(playerViews[state.id]);
+        }
+        // a game saved without a journal goes on without one: its start isn't in the journal to replay it from
+        if (save.journaled != GameJournal.UNASSIGNED) {
+            try {
+                engine.resumeJournal(new GameJournal(GameJournal.open(Paths.get(GameJournal.FILE_NAME))),
+                    save.journaled);
+            } catch (IOException e) {
+                e.printStackTrace();  // the game is played without a journal
+            }
+        }
+        setUpBoard();
+        for (PropertyState property : engine.properties) {
+            if (property != null && property.owner() != null)
+                propertyChanged(property);
+        }
+        welfareChanged(engine.welfare);
+
+        Player current = current();
+        rollingPhase = true;
+        current.getPlane().toFront();
+        playerTurnLabel.setTextFill(current.getPlayerColor());
+        playerTurnLabel.setText(current.getName() + "'s turn.");
+        winEstimator.estimate(engine);
+        advance();
+    }
+
+    /**
+     * Places the planes of the Players of the engine, sets up the dice, the Player list and the Properties
+     */
+    private void setUpBoard() throws FileNotFoundException {
+        planes = new String[playerViews.length];
+        for (Player player : playerViews) {
+            player.engine = engine;
+            planes[player.state.id] = player.getPlaneColor();
+        }
+        autosaver = new GameSave.Autosaver(Paths.get(GameSave.FILE_NAME));
+        winEstimator = new WinEstimator(chances -> {
+            for (Player player : players) {
+                player.showWinChance(chances[player.state.id]);
+            }
+        });
+
+        int turn = engine.turn;
         for (int i = turn + players.size() - 1; i >= turn; i--) {
-            ImageView plane = players.get(i % players.size()).getPlane();
+            Player player = players.get(i % players.size());
+            ImageView plane = player.getPlane();
             plane.setFitHeight(32);
             plane.setFitWidth(32);
-            GridPane.setConstraints(plane, 13, 13);
+            player.placePlane();
 
             GridPane.setHalignment(plane, HPos.CENTER);
             GridPane.setValignment(plane, VPos.CENTER);
@@ -151,37 +224,43 @@ class GameManager {
         rollingPhase = true;
         rollButton = new Button("ROLL");
         rollButton.setOnAction(actionEvent -> {
-            if (players.get(turn).isSpaceStation()) {
+            // once per turn: not while the dice roll, nor after (e.g. while "still stuck" is up)
+            if (current().isBot() || engine.phase != TurnPhase.ROLL || !rollingPhase)
+                return;
+            if (current().isSpaceStation()) {
                 moveFromSpaceStation();
             }
-            if (players.get(turn).getTurnsLeftOnDesertedIsland() > 0 &&
-                players.get(turn).hasEscapeDesertedIsland()) {
+            if (current().getTurnsLeftOnDesertedIsland() > 0 &&
+                current().hasEscapeDesertedIsland()) {
 
                 Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
                 alert.setTitle("Escape Deserted Island?");
                 alert.setHeaderText("You have \"ESCAPE DESERTED ISLAND\" Golden Key.");
                 alert.setContentText("Will you use the \"ESCAPE DESERTED ISLAND\" Golden Key?");
                 Optional<ButtonType> option = alert.showAndWait();
-                if (option.isPresent() && option.get() == alert.getButtonTypes().get(0)) {
-                    players.get(turn).useEscapeDesertedIsland();
+                if (engine.choose(option.isPresent() && option.get() == alert.getButtonTypes().get(0))) {
+                    engine.useEscapeDesertedIsland(current().state);
                 }
             }
             if (rollingPhase) {
-                AudioClips.dice[0].play();
-                rollingDiceAnimation.playFromStart();
+                rollingPhase = false;
+                rollDice();
             }
         });
 
         for (Player player : players) {
             player.moveAnimation.setOnFinished(actionEvent -> {
                 player.moveAnimation.setRate(1);
-                showPopup(players.get(turn).getSpace());
+                engine.arrive();
+                advance();
             });
         }
 
+        // closing a popup means the Player decided; Golden Key cards move on by themselves
         popup.setOnHidden(windowEvent -> {
-            if (!worldTour)
-                playerTurnLabel.setText(nextTurn().getName() + "'s turn.");
+            if (engine.phase == TurnPhase.DECIDE)
+                engine.decided();
+            advance();
         });
 
         GridPane.setHalignment(rollButton, HPos.CENTER);
@@ -189,22 +268,27 @@ class GameManager {
         GridPane.setConstraints(rollButton, 7, 7);
 
         playerGridPane.getChildren().addAll(die1, die2, rollButton);
-        playerTurnLabel.setText(nextTurn().getName() + "'s turn.");
-
 
         gameBox.getChildren().add(playerTurnLabel);
         for (Player player : players) {
             Label name = new Label(player.getName());
             name.setPrefWidth(100);
-            HBox hBox = new HBox(name, player.getMoneyText(), player.getPropertiesComboBox());
-            hBox.setSpacing(64);
+            HBox hBox = new HBox(name, player.getMoneyText(), player.getWinBar(), player.getPropertiesComboBox());
+            hBox.setSpacing(32);
             hBox.setBorder(new Border(new BorderStroke(player.getPlayerColor(),
                 BorderStrokeStyle.SOLID, CornerRadii.EMPTY, BorderWidths.DEFAULT)));
             gameBox.getChildren().add(hBox);
         }
-
-        fill(spaceToProperty);
-        for (Property property : spaceToProperty.values()) {
+        ComboBox<GameSpeed> speedComboBox = new ComboBox<>();
+        speedComboBox.getItems().addAll(GameSpeed.values());
+        speedComboBox.setValue(speed);
+        speedComboBox.setOnAction(actionEvent -> speed = speedComboBox.getValue());
+        gameBox.getChildren().add(new HBox(new Label("Game speed:  "), speedComboBox));
+
+        fill(spaceToProperty, engine);
+        for (Property property : spaceToProperty) {
+            if (property == null)
+                continue;
             if (property instanceof RegularProperty) {
                 playerGridPane.getChildren().add(((RegularProperty) property).buildingPics);
             }
@@ -225,7 +309,7 @@ class GameManager {
             "\nTo which space will you go?");
         ComboBox<String> comboBox = new ComboBox<>();
         try {
-            Scanner filescan = new Scanner(new File("SpaceIndices.txt"));
+            Scanner filescan = new Scanner(Assets.open("SpaceIndices.txt"), "UTF-8");
             while (filescan.hasNext()) {
                 comboBox.getItems().add(filescan.nextLine());
             }
@@ -247,642 +331,493 @@ class GameManager {
             String dest = comboBox.getValue();
             int destination = Integer.parseInt(dest.substring(0, dest.indexOf(":")));
             AudioClips.spaceTravel.play();
-            players.get(turn).directlyMove(destination, true);
+            int moved = engine.travel(engine.choose(destination));
             popup.close();
+            fly(moved, 4.5);
         });
         popup.showAndWait();
     }
 
+    /**
+     * MOVE: flies the current Player's plane to where the GameEngine moved them; the plane landing moves the
+     * turn on
+     *
+     * @param delta number of spaces moved; negative only from "Moving Day" Golden Key cards
+     * @param rate  speed of the animation; 1 for moves by the dice
+     */
+    private void fly(int delta, double rate) {
+        Player player = current();
+        if (speed.isInstant()) {
+            player.placePlane();
+            engine.arrive();
+            advance();
+            return;
+        }
+        player.moveAnimation.setRate(rate * speed.rate);
+        player.animateMove(delta);
+    }
+
+    /**
+     * MOVE after a Golden Key card: World Tours fly fast, "Moving Day" cards walk back at normal speed
+     */
+    private void flyByGoldenKey(int delta) {
+        fly(delta, engine.worldTour ? 8 : delta < 0 ? 1 : 4.5);
+    }
+
+    /**
+     * ROLL: rolls the dice, animated unless INSTANT
+     */
+    private void rollDice() {
+        if (speed.isInstant()) {
+            rolled();
+            return;
+        }
+        AudioClips.dice[0].play();
+        rollingDiceAnimation.setRate(speed.rate);
+        rollingDiceAnimation.playFromStart();
+    }
+
+    /**
+     * ROLL, once the dice stopped: the current Player (a Bot with its Decisions) rolls and flies, or stays stuck
+     * on Deserted Island
+     */
+    private void rolled() {
+        Player player = current();
+        int moveSpaces = player.isBot() ? engine.playRoll() : engine.roll();
+        rollingPhase = false;
+        showDice();
+        if (engine.phase == TurnPhase.MOVE) {
+            fly(moveSpaces, 1);
+        } else if (player.isBot()) {
+            AudioClips.desertedIsland.play();
+            advance();
+        } else {
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("You're still stuck in the Deserted Island");
+            alert.setHeaderText("You failed to escape the Deserted Island!");
+            alert.setContentText("You are stuck here for the next " +
+                player.getTurnsLeftOnDesertedIsland() + " turn(s).");
+            alert.show();
+            AudioClips.desertedIsland.play();
+            alert.setOnHidden(dialogEvent -> advance());
+            if (speed != GameSpeed.REAL_TIME)
+                later(alert::close);
+        }
+    }
+
+    /**
+     * Runs an action after informational windows have been up long enough at the current speed
+     */
+    private void later(Runnable action) {
+        PauseTransition pause = new PauseTransition(speed.isInstant() ? Duration.ONE :
+            Duration.millis(INFORMATION_MILLIS / speed.rate));
+        pause.setOnFinished(actionEvent -> action.run());
+        pause.play();
+    }
+
+    /**
+     * INSTANT: plays the Bots' turns without showing them, for a frame at a time so that the window stays
+     * responsive, then shows the board as it is once
+     */
+    private void playBots() {
+        long deadline = System.nanoTime() + BATCH_NANOS;
+        batching = true;
+        try {
+            while (!engine.isOver() && current().isBot() && System.nanoTime() < deadline) {
+                engine.playTurn();
+            }
+        } finally {
+            batching = false;
+        }
+        for (Player player : playerViews) {
+            if ((staleMoney & 1 << player.state.id) != 0)
+                player.refreshMoney();
+            if (players.contains(player))
+                player.placePlane();
+        }
+        staleMoney = 0;
+        if (staleProperties != 0) {
+            for (long stale = staleProperties; stale != 0; stale &= stale - 1) {
+                refreshProperty(engine.properties[Long.numberOfTrailingZeros(stale)]);
+            }
+            for (Player player : playerViews) {
+                player.refreshProperties(spaceToProperty);
+            }
+            staleProperties = 0;
+        }
+        welfareText.setText(MoneyFormat.format(engine.welfare));
+        showDice();
+
+        if (engine.isOver()) {
+            advance();
+            return;
+        }
+        autosaver.save(engine, planes);
+        winEstimator.estimate(engine);
+        Player next = current();
+        rollingPhase = true;
+        next.getPlane().toFront();
+        playerTurnLabel.setTextFill(next.getPlayerColor());
+        playerTurnLabel.setText(next.getName() + "'s turn.");
+        if (next.isBot())
+            Platform.runLater(this::advance);
+    }
+
+    /**
+     * Shows the phase the GameEngine's turn is in. Called again whenever what it showed is done (the plane
+     * landed, a popup or an alert closed), so the turn goes through every TurnPhase.
+     */
+    void advance() {
+        switch (engine.phase) {
+            case ROLL:
+                Player player = current();
+                if (!player.isBot())
+                    break;  // waiting for the ROLL button
+                if (speed.isInstant())
+                    playBots();
+                else if (player.isSpaceStation())
+                    fly(engine.playRoll(), 4.5);
+                else
+                    rollDice();
+                break;
+            case MOVE:
+                break;  // waiting for the plane to land
+            case RESOLVE:
+                engine.resolve();
+                if (engine.phase == TurnPhase.END_TURN) {
+                    // free entry to Space Station
+                    AudioClips.enterSpaceTravel.play();
+                    current().placePlane();
+                }
+                advance();
+                break;
+            case DECIDE:
+                Player decider = current();
+                if (!decider.isBot()) {
+                    showPopup(decider.getSpace());
+                    break;
+                }
+                int moved = engine.playDecision();
+                if (engine.phase == TurnPhase.MOVE) {
+                    flyByGoldenKey(moved);
+                } else {
+                    if (engine.players.contains(decider.state))
+                        decider.placePlane();
+                    advance();
+                }
+                break;
+            case END_TURN:
+                if (engine.isOver()) {
+                    try {
+                        gameOver();
+                    } catch (FileNotFoundException e) {
+                        e.printStackTrace();
+                    }
+                } else {
+                    playerTurnLabel.setText(nextTurn().getName() + "'s turn.");
+                    advance();
+                }
+                break;
+        }
+    }
+
     /**
      * Switches turn to the next Player; if double, the same Player goes again
      *
      * @return the next Player
      */
     public Player nextTurn() {
-        if (gotDouble) {
-            gotDouble = false;
-        } else if (++turn >= players.size()) {
-            turn = 0;
-        }
+        Player next = playerViews[engine.nextTurn().id];
+        autosaver.save(engine, planes);
+        winEstimator.estimate(engine);
         rollingPhase = true;
-        players.get(turn).getPlane().toFront();
-        playerTurnLabel.setTextFill(players.get(turn).getPlayerColor());
+        next.getPlane().toFront();
+        playerTurnLabel.setTextFill(next.getPlayerColor());
 
-        return players.get(turn);
+        return next;
     }
 
     /**
-     * After playing the animation of rolling the dice, set each die to a random value and return the sum
-     * of the two dice's values.
-     *
-     * @return total value of dice
+     * @return the Player whose turn it is
+     */
+    Player current() {
+        return playerViews[engine.currentPlayer().id];
+    }
+
+    /**
+     * After playing the animation of rolling the dice, shows the dice the GameEngine rolled
      */
-    public int rollDice() {
-        int die1Value = random.nextInt(6) + 1, die2Value = random.nextInt(6) + 1;
+    private void showDice() {
         AudioClips.dice[0].stop();
         AudioClips.dice[1].play();
-        gotDouble = die1Value == die2Value;
-        die1.setImage(dice.get(die1Value));
-        die2.setImage(dice.get(die2Value));
-        return die1Value + die2Value;
+        die1.setImage(dice.get(engine.die1));
+        die2.setImage(dice.get(engine.die2));
     }
 
     /**
-     * Long ass method for determining which interactive window to show to the Player after landing at
-     * the specified space.
+     * DECIDE: long ass method for determining which interactive window to show to the Player after landing
+     * at the specified space.
      *
      * @param space space index of where the Player landed
      */
     public void showPopup(int space) {
-        if (worldTour) {
-            worldTour = false;
-            playerTurnLabel.setText(nextTurn().getName() + "'s turn.");
-            return;
-        }
-        BorderPane popupBorderPane = new BorderPane();
-        ImageView imageView = new ImageView();
-        imageView.setFitWidth(400);
-        imageView.setFitHeight(300);
-
-        Button b0 = new Button("OK");
-        b0.setOnAction(actionEvent -> {
-            popup.close();
-            AudioClips.buttonAudioClips[0].play(.5);
-        });
-        b0.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[3].play(.5));
-
-        Label topLabel = new Label();
-        topLabel.setFont(new Font("Arial Black", 20));
-        topLabel.setAlignment(Pos.CENTER);
-        topLabel.setTextFill(Color.OLIVEDRAB);
-        VBox rightVBox = new VBox(b0);
-        rightVBox.setSpacing(16);
-        rightVBox.setAlignment(Pos.CENTER);
-        HBox rightHBox = new HBox(rightVBox);
-        rightHBox.setSpacing(16);
-        rightHBox.getChildren().add(0, new Rectangle(12, 12));
-        rightHBox.getChildren().add(new Rectangle(12, 12));
-        ((Rectangle) rightHBox.getChildren().get(0)).setFill(Color.GHOSTWHITE);
-        ((Rectangle) rightHBox.getChildren().get(2)).setFill(Color.GHOSTWHITE);
-
-        Label money = new Label("You have: " + MoneyFormat.format(players.get(turn).getMoney()));
-        money.setTextFill(players.get(turn).getMoney() >= 6.00 ? Color.FORESTGREEN : Color.CRIMSON);
-        money.setFont(new Font("Arial Black", 20));
-        rightVBox.getChildren().add(0, money);
-
-        popup.setOnHidden(windowEvent -> {
-            if (players.size() == 1) {
-                try {
-                    gameOver();
-                } catch (FileNotFoundException e) {
-                    e.printStackTrace();
+        long money = current().getMoney();
+        PopupView view;
+        switch (space) {
+            case 0:
+                cornerPopup.bind(space, "GO space: You got $2.00M paycheck!", "PAY DAY!", money, null);
+                view = cornerPopup;
+                break;
+            case 10:
+                cornerPopup.bind(space, "You are stuck in the Deserted Island for 3 turns.", "SOS!", money,
+                    AudioClips.desertedIsland);
+                view = cornerPopup;
+                break;
+            case 20:
+                cornerPopup.bind(space, "Welfare Zone has " + MoneyFormat.format(engine.welfare) + " for you!",
+                    "Thank you, welfare!", money, AudioClips.welfare);
+                view = cornerPopup;
+                break;
+            case 30:
+                PlayerState columbiaOwner = engine.properties[Board.COLUMBIA].owner();
+                cornerPopup.bind(space, "Would you like to enter Space Station?",
+                    current().state == columbiaOwner ? "YES" :
+                        "YES (Pay " + MoneyFormat.format(Board.SPACE_STATION_FEE) + " to " +
+                            (columbiaOwner == null ? "BANKER" : columbiaOwner.name) + ")",
+                    money, AudioClips.enterSpaceTravel);
+                view = cornerPopup;
+                break;
+            case 38:
+                cornerPopup.bind(space, "Please donate $1.50M to Welfare Zone. \nThank you for your contributions!",
+                    "Donate $1.50M", money, AudioClips.welfareTax);
+                view = cornerPopup;
+                break;
+            case 2:
+            case 7:
+            case 12:
+            case 17:
+            case 22:
+            case 35:
+                int goldenKey = engine.goldenKey;
+                GoldenKeyEffect effect = goldenKeyDeck.effects[goldenKey];
+                String detail = null;
+                if (effect instanceof GoldenKeyEffect.SellMostExpensive) {
+                    PropertyState mostExpensive = engine.mostExpensiveProperty(current().state);
+                    detail = "Your most expensive property: \n" +
+                        (mostExpensive != null ? spaceToProperty[mostExpensive.space].toString() : "NULL") + "\n";
+                } else if (effect instanceof GoldenKeyEffect.BuildingFee) {
+                    detail = "Total cost: " + MoneyFormat.format(engine.goldenKeyFee(current().state, goldenKey));
                 }
-            } else
-                if (!worldTour)
-                    playerTurnLabel.setText(nextTurn().getName() + "'s turn.");
-        });
-
-
-        popupBorderPane.setLeft(imageView);
-        popupBorderPane.setTop(topLabel);
-        popupBorderPane.setRight(rightHBox);
+                goldenKeyPopup.bind(goldenKeys[goldenKey], detail, money);
+                view = goldenKeyPopup;
+                break;
+            default:
+                Property property = spaceToProperty[space];
+                PlayerState owner = property.state.owner();
+                if (owner == null) {
+                    purchasePopup.bind(property, money);
+                    purchasePopup.bindOdds(landingProbabilities.oddsText[space]);
+                    view = purchasePopup;
+                } else if (owner != current().state) {
+                    rentPopup.bind(property, playerViews[owner.id].getPlayerColor(), money,
+                        current().getComplimentaryTickets() > 0);
+                    view = rentPopup;
+                } else {
+                    buildPopup.bind(property, current().getPlayerColor(), money);
+                    buildPopup.bindOdds(landingProbabilities.oddsText[space]);
+                    view = buildPopup;
+                }
+        }
 
-        AudioClip popupIntroSound = AudioClips.property;
+        // closing the window answers like the dismissing button, so that every landing is resolved and logged
+        Button dismiss = view.dismissButton();
+        popup.setOnCloseRequest(windowEvent -> dismiss.fire());
+        popup.getScene().setRoot(view.pane);
+        popup.sizeToScene();
+        popup.show();
+        if (view.introSound != null)
+            view.introSound.play();
+
+        // above real time, popups without a choice to make close by themselves
+        int shown = ++popupsShown;
+        if (speed != GameSpeed.REAL_TIME &&
+            (view == goldenKeyPopup || view == cornerPopup && space != Board.SPACE_STATION)) {
+            later(() -> {
+                if (popupsShown == shown && popup.isShowing())
+                    dismiss.fire();
+            });
+        }
+    }
 
-        try {
-            switch (space) {
-                case 0:
-                    popupIntroSound = null;
-                    imageView.setImage(new Image(new FileInputStream("img_properties/0.png")));
-                    topLabel.setText("GO space: You got $2.00M paycheck!");
-                    b0.setText("PAY DAY!");
-                    b0.setOnAction(actionEvent -> {
-                        popup.close();
-                        AudioClips.buttonAudioClips[0].play(.5);
-                    });
-                    break;
+    /**
+     * Builds the popups once and sets what each of their buttons does; showPopup only re-binds them to
+     * the space the Player landed on.
+     */
+    private void createPopups() {
+        cornerPopup = new CornerPopup();
+        cornerPopup.b0.setOnAction(actionEvent -> {
+            AudioClips.buttonAudioClips[0].play(.5);
+            switch (cornerPopup.space) {
                 case 10:
-                    popupIntroSound = AudioClips.desertedIsland;
-                    imageView.setImage(new Image(new FileInputStream("img_properties/10.png")));
-                    topLabel.setText("You are stuck in the Deserted Island for 3 turns.");
-                    b0.setText("SOS!");
-                    b0.setOnAction(actionEvent -> {
-                        AudioClips.buttonAudioClips[0].play(.5);
-                        gotDouble = false;
-                        players.get(turn).landOnDesertedIsland();
-                        popup.close();
-                    });
+                    engine.landOnDesertedIsland(current().state);
+                    current().placePlane();
                     break;
                 case 20:
-                    popupIntroSound = AudioClips.welfare;
-                    imageView.setImage(new Image(new FileInputStream("img_properties/20.png")));
-                    topLabel.setText("Welfare Zone has " + MoneyFormat.format(welfare) + " for you!");
-                    b0.setText("Thank you, welfare!");
-                    b0.setOnAction(actionEvent -> {
-                        AudioClips.buttonAudioClips[0].play(.5);
-                        players.get(turn).changeMoney(welfare);
-                        welfare = 0;
-                        welfareText.setText(MoneyFormat.format(welfare));
-                        popup.close();
-                    });
+                    engine.collectWelfare(current().state);
                     break;
                 case 30:
-                    if (freeSpaceStation) {
-                        AudioClips.enterSpaceTravel.play();
-                        players.get(turn).enterSpaceStation();
-                        GridPane.setConstraints(players.get(turn).getPlane(), 10, 4);
-                        freeSpaceStation = false;
-                        playerTurnLabel.setText(nextTurn().getName() + "'s turn.");
-                        return;
+                    engine.choose(true);
+                    try {
+                        engine.enterSpaceStation(current().state);
+                        AudioClips.purchase.play();
+                        current().placePlane();
+                    } catch (NotEnoughMoneyException e) {
+                        Alert alert = new Alert(Alert.AlertType.ERROR);
+                        alert.setTitle("You don't have enough money!");
+                        alert.setHeaderText("You can't afford a ticket to Space Station.");
+                        alert.setContentText("Try again when you do have enough money.");
+                        alert.showAndWait();
+                        AudioClips.buttonAudioClips[6].play();
                     }
-                    popupIntroSound = AudioClips.enterSpaceTravel;
-                    imageView.setImage(new Image(new FileInputStream("img_properties/30.png")));
-                    topLabel.setText("Would you like to enter Space Station?");
-                    if (players.get(turn) == spaceToProperty.get(32).owner)
-                        b0.setText("YES");
-                    else
-                        b0.setText("YES (Pay $2.00M to " + (spaceToProperty.get(32).owner == null ?
-                            "BANKER" : spaceToProperty.get(32).owner.getName()) + ")");
-                    b0.setOnAction(actionEvent -> {
-                        try {
-                            players.get(turn).changeMoney(-ColumbiaSpaceShuttle.ENTRY_FEE);
-                            AudioClips.purchase.play();
-                            if (spaceToProperty.get(32).owner != null)
-                                spaceToProperty.get(32).owner.changeMoney(ColumbiaSpaceShuttle.ENTRY_FEE);
-                            players.get(turn).enterSpaceStation();
-                            GridPane.setConstraints(players.get(turn).getPlane(), 10, 4);
-                        } catch (NotEnoughMoneyException e) {
-                            Alert alert = new Alert(Alert.AlertType.ERROR);
-                            alert.setTitle("You don't have enough money!");
-                            alert.setHeaderText("You can't afford a ticket to Space Station.");
-                            alert.setContentText("Try again when you do have enough money.");
-                            alert.showAndWait();
-                            AudioClips.buttonAudioClips[6].play();
-                        }
-                        popup.close();
-                    });
-                    Button b1 = new Button("No Thanks.");
-                    b1.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[5].play(.5));
-                    b1.setOnAction(actionEvent -> {
-                        popup.close();
-                        AudioClips.buttonAudioClips[2].play(.5);
-                    });
-                    rightVBox.getChildren().add(b1);
                     break;
                 case 38:
-                    popupIntroSound = AudioClips.welfareTax;
-                    imageView.setImage(new Image(new FileInputStream("img_properties/38.png")));
-                    topLabel.setText("Please donate $1.50M to Welfare Zone. \nThank you for your contributions!");
-                    b0.setText("Donate $1.50M");
-                    b0.setOnAction(actionEvent -> {
-                        try {
-                            players.get(turn).payOther(null, 1.50);
-                        } catch (BankruptcyException e) {
-                            eliminate(players.get(turn), e.shark);
-                        } finally {
-                            welfare += 1.50;
-                            welfareText.setText(MoneyFormat.format(welfare));
-                            popup.close();
-                        }
-                    });
-                    break;
-                case 2:
-                case 7:
-                case 12:
-                case 17:
-                case 22:
-                case 35:
-                    popupIntroSound = AudioClips.goldenKey;
-                    GoldenKey goldenKey = drawGoldenKeyCard();
-                    imageView.setImage(goldenKey.card);
-                    topLabel.setText("GOLDEN KEY CARD");
-                    Property mostExpensive = null;
-                    double[] fee = {0};
-                    if (goldenKey.id == 22 || goldenKey.id == 23) {
-                        if (players.get(turn).getProperties().size() > 0) {
-                            mostExpensive = players.get(turn).getProperties().get(0);
-                            for (int i = 1; i < players.get(turn).getProperties().size(); i++) {
-                                if (mostExpensive.price < players.get(turn).getProperties().get(i).price)
-                                    mostExpensive = players.get(turn).getProperties().get(i);
-                            }
-                        }
-                        rightVBox.getChildren().add(0, new Label("Your most expensive property: \n" +
-                            (mostExpensive != null ? mostExpensive.toString() : "NULL") + "\n"));
-                    } else if (goldenKey.id == 17) {
-                        for (Property property : players.get(turn).getProperties()) {
-                            if (property instanceof RegularProperty) {
-                                fee[0] += .10 * ((RegularProperty) property).getBuildings()[0] +
-                                        .30 * ((RegularProperty) property).getBuildings()[1] +
-                                        .50 * ((RegularProperty) property).getBuildings()[2];
-                            }
-                        }
-                        rightVBox.getChildren().add(0,
-                                new Label("Total cost: " + MoneyFormat.format(fee[0])));
-                    } else if (goldenKey.id == 20) {
-                        for (Property property : players.get(turn).getProperties()) {
-                            if (property instanceof RegularProperty) {
-                                fee[0] += .30 * ((RegularProperty) property).getBuildings()[0] +
-                                        .60 * ((RegularProperty) property).getBuildings()[1] +
-                                        1.00 * ((RegularProperty) property).getBuildings()[2];
-                            }
-                        }
-                        rightVBox.getChildren().add(0,
-                                new Label("Total cost: " + MoneyFormat.format(fee[0])));
-                    } else if (goldenKey.id == 25) {
-                        for (Property property : players.get(turn).getProperties()) {
-                            if (property instanceof RegularProperty) {
-                                fee[0] += 1.50 * ((RegularProperty) property).getBuildings()[2] +
-                                        1.00 * ((RegularProperty) property).getBuildings()[1] +
-                                        .50 * ((RegularProperty) property).getBuildings()[0];
-                            }
-                        }
-                        rightVBox.getChildren().add(0,
-                                new Label("Total cost: " + MoneyFormat.format(fee[0])));
-                    }
-                    Property finalMostExpensive = mostExpensive;
-                    b0.setOnAction(actionEvent -> {
-                        AudioClips.buttonAudioClips[0].play(.5);
-                        switch (goldenKey.id) {
-                            case 0:
-                                for (Player opponent : players) {
-                                    if (opponent == players.get(turn))
-                                        continue;
-                                    try {
-                                        opponent.payOther(players.get(turn), .05);
-                                    } catch (BankruptcyException e) {
-                                        eliminate(opponent, e.shark);
-                                    }
-                                }
-                                break;
-                            case 1:
-                            case 8:
-                                try {
-                                    players.get(turn).payOther(null, .50);
-                                } catch (BankruptcyException e) {
-                                    e.printStackTrace();
-                                }
-                                break;
-                            case 2:
-                            case 18:
-                                players.get(turn).changeMoney(1.00);
-                                break;
-                            case 3:
-                                players.get(turn).changeMoney(2.00);
-                                break;
-                            case 4:
-                                players.get(turn).receiveEscapeDesertedIsland();
-                                break;
-                            case 5:
-                                players.get(turn).landOnDesertedIsland();
-                                gotDouble = false;
-                                break;
-                            case 6:
-                                players.get(turn).directlyMove(25, false);
-                                break;
-                            case 7:
-                                players.get(turn).directlyMove(5, false);
-                                break;
-                            case 9:
-                                try {
-                                    players.get(turn).payOther(null, 1.00);
-                                } catch (BankruptcyException e) {
-                                    e.printStackTrace();
-                                }
-                                break;
-                            case 10:
-                                players.get(turn).changeMoney(.50);
-                                break;
-                            case 11:
-                                players.get(turn).move(-2, false);
-                                GameManager.popup.setOnHidden(windowEvent -> {
-                                });
-                                break;
-                            case 12:
-                                players.get(turn).move(-3, false);
-                                GameManager.popup.setOnHidden(windowEvent -> {
-                                });
-                                break;
-                            case 13:
-                                players.get(turn).directlyMove(0, false);
-                                break;
-                            case 14:
-                            case 15:
-                                players.get(turn).receiveComplimentaryTicket();
-                                break;
-                            case 16:
-                                if (spaceToProperty.get(15).owner != null) {
-                                    try {
-                                        players.get(turn).payOther(spaceToProperty.get(15).owner, 3.00);
-                                    } catch (BankruptcyException e) {
-                                        eliminate(players.get(turn), e.shark);
-                                    }
-                                }
-                                players.get(turn).directlyMove(1, false);
-                                break;
-                            case 17:
-                            case 20:
-                            case 25:
-                                try {
-                                    players.get(turn).payOther(null, fee[0]);
-                                } catch (BankruptcyException e) {
-                                    e.printStackTrace();
-                                }
-                                break;
-                            case 19:
-                                worldTour = true;
-                                players.get(turn).moveAnimation.setRate(8);
-                                players.get(turn).move(40, false);
-                                players.get(turn).changeMoney(welfare);
-                                welfare = 0;
-                                welfareText.setText(MoneyFormat.format(0));
-                                break;
-                            case 21:
-                                players.get(turn).changeMoney(3.00);
-                                break;
-                            case 22:
-                            case 23:
-                                if (finalMostExpensive == null)
-                                    break;
-                                double halfPrice = finalMostExpensive.price / 2;
-                                players.get(turn).sell(finalMostExpensive);
-                                players.get(turn).changeMoney(-halfPrice);
-                                break;
-                            case 24:
-                                players.get(turn).directlyMove(39, false);
-                                break;
-                            case 26:
-                                players.get(turn).directlyMove(20, false);
-                                break;
-                            case 27:
-                            case 28:
-                                freeSpaceStation = true;
-                                players.get(turn).directlyMove(30, false);
-                                players.get(turn).enterSpaceStation();
-                                GridPane.setConstraints(players.get(turn).getPlane(), 10, 4);
-                                break;
-                            case 29:
-                                if (spaceToProperty.get(28).owner != null) {
-                                    try {
-                                        players.get(turn).payOther(spaceToProperty.get(28).owner, 2.50);
-                                    } catch (BankruptcyException e) {
-                                        eliminate(players.get(turn), e.shark);
-                                    }
-                                }
-                                players.get(turn).directlyMove(3, false);
-                                break;
-                        }
-                        popup.close();
-
-                    });
-                    popup.setOnCloseRequest(windowEvent -> b0.getOnAction());
+                    engine.payWelfareTax(current().state);
                     break;
-                default:
-                    Property property = spaceToProperty.get(space);
-                    imageView.setImage(property.propertyCard);
-
-                    Label message = new Label();
-                    rightVBox.getChildren().add(0, message);
-
-                    if (property.owner == null) {
-                        topLabel.setText("UNOWNED PROPERTY");
-                        message.setText("Would you like to purchase this property?");
-
-                        b0.setText("YES (for " + MoneyFormat.format(property.price) + ")");
-                        b0.setOnAction(actionEvent -> {
-                            AudioClips.build.stop();
-                            players.get(turn).purchase(property);
-                            popup.close();
-                        });
-
-                        Button b2 = new Button("NO");
-                        b2.setOnAction(actionEvent -> {
-                            popup.close();
-                            AudioClips.buttonAudioClips[2].play(.5);
-                        });
-                        b2.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[5].play(.5));
-
-                        rightVBox.getChildren().add(b2);
-
-                    } else if (property.owner != players.get(turn)) {
-                        popupIntroSound = AudioClips.rent;
-                        topLabel.setText("Owned by: " + property.owner.getName());
-                        topLabel.setTextFill(property.owner.getPlayerColor());
-                        message.setText("You owe rent to " + property.owner.getName() + "!");
-                        b0.setText("Pay rent (" + MoneyFormat.format(property.rent) + ")");
-                        b0.setOnAction(actionEvent -> {
-                            b0.setOnAction(actionEvent1 -> {
-                            });
-                            try {
-                                players.get(turn).payOther(property.owner, property.rent);
-                            } catch (BankruptcyException e) {
-                                eliminate(players.get(turn), e.shark);
-                            }
-                            popup.close();
-                        });
-                        popup.setOnCloseRequest(windowEvent -> b0.getOnAction());
-
-                        if (players.get(turn).getComplimentaryTickets() > 0) {
-                            Button b6 = new Button("...or use Complimentary Ticket!");
-                            b6.setOnAction(actionEvent -> {
-                                players.get(turn).useComplimentaryTicket();
-                                AudioClips.goldenKey.play();
-                                popup.close();
-                            });
-                            b6.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[3].play(.5));
-                            rightVBox.getChildren().add(b6);
-                        }
-                    } else {
-                        popupIntroSound = AudioClips.build;
-                        topLabel.setText("Owned by: " + property.owner.getName());
-                        topLabel.setTextFill(property.owner.getPlayerColor());
-                        if (property instanceof RegularProperty) {
-                            message.setText("Set the number of buildings at this property.\n" +
-                                "Construct/sell each building type");
-
-                            int[] queries = ((RegularProperty) property).getBuildings().clone();
-                            Label[] queriesLabels = {new Label("0"), new Label("0"), new Label("0")};
-                            for (int i = 0; i < 3; i++) {
-                                queriesLabels[i].setFont(new Font("Arial Black", 26));
-                                queriesLabels[i].setText(queries[i] + "");
-                            }
-
-                            Button minusButtonHouse = new Button("-");
-                            Button plusButtonHouse = new Button("+");
-                            Button minusButtonOfficeBuilding = new Button("-");
-                            Button plusButtonOfficeBuilding = new Button("+");
-                            Button minusButtonHotel = new Button("-");
-                            Button plusButtonHotel = new Button("+");
-
-                            minusButtonHouse.setOnMouseEntered(
-                                mouseEvent -> AudioClips.buttonAudioClips[4].play(.5));
-                            plusButtonHouse.setOnMouseEntered(
-                                mouseEvent -> AudioClips.buttonAudioClips[4].play(.5));
-                            minusButtonOfficeBuilding.setOnMouseEntered(
-                                mouseEvent -> AudioClips.buttonAudioClips[4].play(.5));
-                            plusButtonOfficeBuilding.setOnMouseEntered(
-                                mouseEvent -> AudioClips.buttonAudioClips[4].play(.5));
-                            minusButtonHotel.setOnMouseEntered(
-                                mouseEvent -> AudioClips.buttonAudioClips[4].play(.5));
-                            plusButtonHotel.setOnMouseEntered(
-                                mouseEvent -> AudioClips.buttonAudioClips[4].play(.5));
-
-                            minusButtonHouse.setOnAction(actionEvent -> {
-                                AudioClips.buttonAudioClips[1].play(.5);
-                                if (--queries[0] == 0)
-                                    minusButtonHouse.setVisible(false);
-                                plusButtonHouse.setVisible(true);
-                                queriesLabels[0].setText(queries[0] + "");
-                            });
-                            plusButtonHouse.setOnAction(actionEvent -> {
-                                AudioClips.buttonAudioClips[1].play(.5);
-                                if (++queries[0] == 2)
-                                    plusButtonHouse.setVisible(false);
-                                minusButtonHouse.setVisible(true);
-                                queriesLabels[0].setText(queries[0] + "");
-                            });
-                            minusButtonOfficeBuilding.setOnAction(actionEvent -> {
-                                AudioClips.buttonAudioClips[1].play(.5);
-                                if (--queries[1] == 0)
-                                    minusButtonOfficeBuilding.setVisible(false);
-                                plusButtonOfficeBuilding.setVisible(true);
-                                queriesLabels[1].setText(queries[1] + "");
-                            });
-                            plusButtonOfficeBuilding.setOnAction(actionEvent -> {
-                                AudioClips.buttonAudioClips[1].play(.5);
-                                if (++queries[1] == 2)
-                                    plusButtonOfficeBuilding.setVisible(false);
-                                minusButtonOfficeBuilding.setVisible(true);
-                                queriesLabels[1].setText(queries[1] + "");
-                            });
-                            minusButtonHotel.setOnAction(actionEvent -> {
-                                AudioClips.buttonAudioClips[1].play(.5);
-                                if (--queries[2] == 0)
-                                    minusButtonHotel.setVisible(false);
-                                plusButtonHotel.setVisible(true);
-                                queriesLabels[2].setText(queries[2] + "");
-                            });
-                            plusButtonHotel.setOnAction(actionEvent -> {
-                                AudioClips.buttonAudioClips[1].play(.5);
-                                if (++queries[2] == 2)
-                                    plusButtonHotel.setVisible(false);
-                                minusButtonHotel.setVisible(true);
-                                queriesLabels[2].setText(queries[2] + "");
-                            });
-
-                            Label house = new Label("HOUSES:    ");
-                            house.setTextFill(Color.RED);
-                            Label officeBuilding = new Label("OFFICE\nBUILDINGS:");
-                            officeBuilding.setTextFill(Color.GREEN);
-                            Label hotel = new Label("HOTELS:    ");
-                            hotel.setTextFill(Color.DODGERBLUE);
-
-                            HBox houseQuery = new HBox(house, minusButtonHouse, queriesLabels[0], plusButtonHouse);
-                            HBox officeBuildingQuery = new HBox(officeBuilding, minusButtonOfficeBuilding,
-                                queriesLabels[1], plusButtonOfficeBuilding);
-                            HBox hotelQuery = new HBox(hotel, minusButtonHotel, queriesLabels[2], plusButtonHotel);
-                            houseQuery.setAlignment(Pos.CENTER);
-                            houseQuery.setSpacing(20);
-                            officeBuildingQuery.setAlignment(Pos.CENTER);
-                            officeBuildingQuery.setSpacing(20);
-                            hotelQuery.setAlignment(Pos.CENTER);
-                            hotelQuery.setSpacing(20);
-
-                            b0.setText("Construct/Sell Buildings");
-                            b0.setOnAction(actionEvent -> {
-                                AudioClips.build.stop();
-                                if (players.get(turn).build((RegularProperty) property, queries))
-                                    popup.close();
-                            });
-
-                            if (((RegularProperty) property).getBuildings()[0] == 0)
-                                houseQuery.getChildren().get(1).setVisible(false);
-                            else if (((RegularProperty) property).getBuildings()[0] == 2)
-                                houseQuery.getChildren().get(3).setVisible(false);
-
-                            if (((RegularProperty) property).getBuildings()[1] == 0)
-                                officeBuildingQuery.getChildren().get(1).setVisible(false);
-                            else if (((RegularProperty) property).getBuildings()[1] == 2)
-                                officeBuildingQuery.getChildren().get(3).setVisible(false);
-
-                            if (((RegularProperty) property).getBuildings()[2] == 0)
-                                hotelQuery.getChildren().get(1).setVisible(false);
-                            else if (((RegularProperty) property).getBuildings()[2] == 2)
-                                hotelQuery.getChildren().get(3).setVisible(false);
-
-                            Button b3 = new Button("No thanks.");
-                            b3.setOnAction(actionEvent -> {
-                                popup.close();
-                                AudioClips.build.stop();
-                                AudioClips.buttonAudioClips[2].play(.5);
-                            });
-                            b3.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[5].play(.5));
-
-                            rightVBox.getChildren().setAll(message, money, houseQuery, officeBuildingQuery,
-                                hotelQuery, b0, b3);
-
-                        } else {
-                            message.setText("You own this property.");
-                            b0.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[5].play(.5));
-                            b0.setOnAction(actionEvent -> {
-                                popup.close();
-                                AudioClips.build.stop();
-                                AudioClips.buttonAudioClips[2].play(.5);
-                            });
-                        }
-                    }
+            }
+            popup.close();
+        });
+        cornerPopup.b1.setOnAction(actionEvent -> {
+            engine.choose(false);
+            popup.close();
+            AudioClips.buttonAudioClips[2].play(.5);
+        });
+
+        goldenKeyPopup = new GoldenKeyPopup();
+        goldenKeyPopup.b0.setOnAction(actionEvent -> {
+            AudioClips.buttonAudioClips[0].play(.5);
+            Player player = current();
+            int moved = engine.applyGoldenKey();
+            if (engine.phase != TurnPhase.MOVE && engine.players.contains(player.state))
+                player.placePlane();
+            popup.close();
+            if (engine.phase == TurnPhase.MOVE)
+                flyByGoldenKey(moved);
+        });
+
+        purchasePopup = new PurchasePopup();
+        purchasePopup.b0.setOnAction(actionEvent -> {
+            AudioClips.build.stop();
+            engine.choose(true);
+            current().purchase(purchasePopup.property);
+            popup.close();
+        });
+        purchasePopup.b2.setOnAction(actionEvent -> {
+            engine.choose(false);
+            popup.close();
+            AudioClips.buttonAudioClips[2].play(.5);
+        });
+
+        rentPopup = new RentPopup();
+        rentPopup.b0.setOnAction(actionEvent -> {
+            if (rentPopup.paid)
+                return;
+            rentPopup.paid = true;
+            AudioClips.buttonAudioClips[0].play(.5);
+            if (current().getComplimentaryTickets() > 0)
+                engine.choose(false);
+            engine.payRent(current().state, rentPopup.property.state);
+            popup.close();
+        });
+        rentPopup.b6.setOnAction(actionEvent -> {
+            if (rentPopup.paid)
+                return;
+            rentPopup.paid = true;
+            engine.choose(true);
+            engine.useComplimentaryTicket(current().state);
+            AudioClips.goldenKey.play();
+            popup.close();
+        });
 
+        buildPopup = new BuildPopup();
+        buildPopup.b0.setOnAction(actionEvent -> {
+            AudioClips.build.stop();
+            if (buildPopup.property instanceof RegularProperty) {
+                if (current().build((RegularProperty) buildPopup.property, buildPopup.queries)) {
+                    engine.choose(PropertyState.configuration(buildPopup.queries));
+                    popup.close();
+                }
+            } else {
+                popup.close();
+                AudioClips.buttonAudioClips[2].play(.5);
             }
+        });
+        buildPopup.b3.setOnAction(actionEvent -> {
+            engine.choose(Decisions.KEEP_BUILDINGS);
+            popup.close();
+            AudioClips.build.stop();
+            AudioClips.buttonAudioClips[2].play(.5);
+        });
 
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        }
+        popup.setScene(new Scene(cornerPopup.pane));
+    }
 
-        popup.setScene(new Scene(popupBorderPane));
-        popup.show();
-        if (popupIntroSound != null)
-            popupIntroSound.play();
+
+    @Override
+    public void moneyChanged(PlayerState player) {
+        if (batching)
+            staleMoney |= 1 << player.id;
+        else
+            playerViews[player.id].refreshMoney();
     }
 
+    @Override
+    public void propertyChanged(PropertyState property) {
+        if (batching) {
+            staleProperties |= 1L << property.space;
+            return;
+        }
+        refreshProperty(property);
+        for (Player player : playerViews) {
+            player.refreshProperties(spaceToProperty);
+        }
+    }
 
-    /**
-     * Draws the top card of the stack of Golden Keys and returns it to the bottom.
-     *
-     * @return the Golden Key card drawn
-     */
-    public GoldenKey drawGoldenKeyCard() {
-        GoldenKey drawn = goldenKeys.removeFirst();
-        goldenKeys.addLast(drawn);
-        return drawn;
+    private void refreshProperty(PropertyState property) {
+        PlayerState owner = property.owner();
+        spaceToProperty[property.space].refresh(owner == null ? null : playerViews[owner.id].getPlayerColor());
     }
 
+    @Override
+    public void welfareChanged(long welfare) {
+        if (!batching)
+            welfareText.setText(MoneyFormat.format(welfare));
+    }
 
     /**
-     * Remove Player from the game; if 1 Player is remaining, Game Over.
+     * Shows the bankrupt Player's plane crash and removes them from the board; if 1 Player is remaining,
+     * the game is over once the popup closes.
      *
      * @param loser Player eliminated
      * @param shark Player to whom the eliminated owes debt; NULL if owed to the Banker.
+     * @param cause what the eliminated couldn't pay for
      */
-    public void eliminate(Player loser, Player shark) {
-        if (shark == null) {
-            for (Property property : loser.getProperties()) {
-                property.owner = null;
-                if (property instanceof RegularProperty) {
-                    ((RegularProperty) property).deconstruct();
-                }
-            }
-        } else {
-            shark.takeOver(loser, loser.getProperties());
-            shark.changeMoney(loser.getMoney());
-        }
+    @Override
+    public void playerEliminated(PlayerState loser, PlayerState shark, BankruptcyCause cause) {
+        Player loserView = playerViews[loser.id];
+        gameBox.getChildren().remove(players.indexOf(loserView) + 1);
+        playerGridPane.getChildren().remove(loserView.getPlane());
+        players.remove(loserView);
+        if (batching)
+            return;
 
         Stage bankruptWindow = new Stage();
-        Label message = new Label(players.get(turn).getName() + ", you are bankrupt.");
+        Label message = new Label(loserView.getName() + ", you are bankrupt.");
         message.setFont(new Font("Arial Black", 24));
         message.setTextFill(Color.DEEPPINK);
         message.setWrapText(true);
         VBox vBox = new VBox(message);
         try {
-            ImageView sadPlaneCrash = new ImageView(new Image(new FileInputStream("bankrupt.png")));
+            ImageView sadPlaneCrash = new ImageView(ImageCache.get("bankrupt.png"));
             sadPlaneCrash.setFitHeight(450);
             sadPlaneCrash.setFitWidth(600);
             vBox.getChildren().add(sadPlaneCrash);
@@ -891,12 +826,13 @@ class GameManager {
         }
         bankruptWindow.setScene(new Scene(vBox, 600, 450));
         AudioClips.bankrupt.play(.5);
-        bankruptWindow.showAndWait();
-        AudioClips.bankrupt.stop();
-
-        gameBox.getChildren().remove(players.indexOf(loser) + 1);
-        playerGridPane.getChildren().remove(loser.getPlane());
-        players.remove(loser);
+        if (speed == GameSpeed.REAL_TIME) {
+            bankruptWindow.showAndWait();
+            AudioClips.bankrupt.stop();
+        } else {
+            bankruptWindow.show();
+            later(bankruptWindow::close);
+        }
     }
 
     /**
@@ -904,13 +840,18 @@ class GameManager {
      */
     public void gameOver() throws FileNotFoundException {
         rollingPhase = false;
+        if (engine.journal != null)
+            engine.journal.commit();
+        autosaver.discard();
+        winEstimator.close();
+        players.get(0).showWinChance(1);
         Stage urWinner = new Stage();
         Label winnerLabel = new Label("Congratulations, " + players.get(0).getName() + ". YOU WON!");
         winnerLabel.setTextFill(Color.MEDIUMORCHID);
         winnerLabel.setFont(new Font("Arial Black", 24));
         winnerLabel.setAlignment(Pos.CENTER);
         winnerLabel.setWrapText(true);
-        ImageView brightFuture = new ImageView(new Image(new FileInputStream("future-pictures-1.jpg")));
+        ImageView brightFuture = new ImageView(ImageCache.get("future-pictures-1.jpg"));
         brightFuture.setFitWidth(800);
         brightFuture.setFitHeight(450);
 
@@ -920,6 +861,13 @@ class GameManager {
         urWinner.show();
         AudioClips.gameOver.play(.6);
 
-        urWinner.setOnCloseRequest(windowEvent -> System.exit(0));
+        urWinner.setOnCloseRequest(windowEvent -> {
+            try {
+                autosaver.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            System.exit(0);
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package sample;
+
+/**
+ * The random number generator of a GameEngine. It draws the same numbers as java.util.SplittableRandom (the
+ * SplitMix64 algorithm) from the same seed, but its whole state is one long, so a game can be copied
+ * (snapshots, AI search) and continue with the same dice.
+ */
+final class GameRandom {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    GameRandom(long seed) {
+        state = seed;
+    }
+
+    GameRandom(GameRandom other) {
+        state = other.state;
+    }
+
+    long state() {
+        return state;
+    }
+
+    /**
+     * Continues from a state() of a generator, e.g. a saved game's
+     */
+    void setState(long state) {
+        this.state = state;
+    }
+
+    int nextInt() {
+        long z = state += GOLDEN_GAMMA;
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    /**
+     * @param bound upper bound (exclusive), positive
+     * @return uniformly distributed int in [0, bound)
+     */
+    int nextInt(int bound) {
+        if (bound <= 0)
+            throw new IllegalArgumentException("bound must be positive");
+        int r = nextInt();
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            r &= m;
+        } else {
+            for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt() >>> 1) {
+                // rejected: u is in the incomplete last range of bound values
+            }
+        }
+        return r;
+    }
+}
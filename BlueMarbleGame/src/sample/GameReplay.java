@@ -0,0 +1,145 @@
+package sample;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A game read back from a GameJournal. Its seed and DecisionLog rebuild it turn by turn through a headless
+ * GameEngine, without any animation, so seeking to a turn costs the rules only. A snapshot (a copy of the
+ * engine) is kept every SNAPSHOT_INTERVAL turns as the game is replayed, so seeking back and forth replays
+ * fewer than SNAPSHOT_INTERVAL turns from the nearest snapshot.
+ * <p>
+ * The journal doesn't hold the Golden Key cards or the names of the players: replays use the deck given
+ * and name the players "Player 1" to "Player 4".
+ * <p>
+ * Usage: java sample.GameReplay (journal file) [turn] [Golden Key deck file]
+ * prints every game of the journal as of the given turn (the end by default)
+ */
+final class GameReplay {
+    static final int SNAPSHOT_INTERVAL = 16;
+
+    final long id;  // in the journal
+    final long seed;
+    final int playerCount;
+    private final DecisionLog decisions = new DecisionLog();
+    private final DecisionLog.Replay replay = new DecisionLog.Replay(decisions);
+    private final ArrayList<GameEngine> snapshots = new ArrayList<>();  // the game after i * SNAPSHOT_INTERVAL turns
+    private int turns;  // # of turns journaled
+    private boolean lastTurnOpen;  // records after the last TURN_ENDED: the turn that ended the game
+
+    /**
+     * @param id          id of the game in the journal
+     * @param seed        seed of the game
+     * @param playerCount # of players, 2-4
+     * @param deck        the Golden Key cards the game was played with
+     */
+    GameReplay(long id, long seed, int playerCount, GoldenKeyDeck deck) {
+        this.id = id;
+        this.seed = seed;
+        this.playerCount = playerCount;
+        List<PlayerState> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            PlayerState player = new PlayerState(i, "Player " + (i + 1));
+            player.decisions = replay;
+            player.debtHandler = replay;
+            players.add(player);
+        }
+        snapshots.add(new GameEngine(players, deck, seed, null));
+    }
+
+    /**
+     * Reads every game of a journal file, in the order they started. Games are told apart by their ids, so
+     * games with the same seed (e.g. a run journaled again into the same file) are replays of their own.
+     *
+     * @param deck the Golden Key cards the games were played with
+     * @throws IOException thrown if the file can't be read or is corrupt
+     */
+    static List<GameReplay> load(Path file, GoldenKeyDeck deck) throws IOException {
+        List<GameReplay> games = new ArrayList<>();
+        HashMap<Long, GameReplay> byId = new HashMap<>();
+        GameJournal.Reader reader = new GameJournal.Reader(file);
+        GameReplay game = null;
+        while (reader.next()) {
+            if (reader.type() == GameJournal.GAME_STARTED) {
+                game = new GameReplay(reader.game(), reader.field(2), (int) reader.field(0), deck);
+                games.add(game);
+                byId.put(game.id, game);
+            } else if (game == null || game.id != reader.game()) {
+                game = byId.get(reader.game());
+                if (game == null)
+                    throw new IOException("Game " + reader.game() + " has records before GAME_STARTED");
+            }
+            if (reader.type() == GameJournal.DECIDED)
+                game.decisions.record((int) reader.field(0));
+            if (reader.type() == GameJournal.TURN_ENDED) {
+                game.turns++;
+                game.lastTurnOpen = false;
+            } else {
+                game.lastTurnOpen = true;
+            }
+        }
+        for (GameReplay replay : games) {
+            if (replay.lastTurnOpen)
+                replay.turns++;
+        }
+        return games;
+    }
+
+    /**
+     * @return # of turns journaled, including the last one if it ended the game
+     */
+    int turns() {
+        return turns;
+    }
+
+    /**
+     * Rebuilds the game as it was after the given number of turns. The engine returned is the caller's own,
+     * but its players' Decisions follow the journal only until the next seek().
+     *
+     * @param turn # of turns played, capped at turns()
+     * @return the game after those turns
+     */
+    GameEngine seek(int turn) {
+        turn = Math.min(Math.max(turn, 0), turns);
+        int index = Math.min(turn / SNAPSHOT_INTERVAL, snapshots.size() - 1);
+        GameEngine game = new GameEngine(snapshots.get(index), null);
+        replay.seek(game.log.size());
+        for (int played = index * SNAPSHOT_INTERVAL; played < turn; ) {
+            game.playTurn();
+            played++;
+            if (played == snapshots.size() * SNAPSHOT_INTERVAL)
+                snapshots.add(new GameEngine(game, null));
+        }
+        return game;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int turn = args.length > 1 ? Integer.parseInt(args[1]) : Integer.MAX_VALUE;
+        GoldenKeyDeck deck = args.length > 2 ? GoldenKeyDeck.load(args[2]) : GoldenKeyDeck.standard();
+
+        long start = System.nanoTime();
+        List<GameReplay> replays = load(Paths.get(args[0]), deck);
+        StringBuilder line = new StringBuilder();
+        for (GameReplay replay : replays) {
+            GameEngine game = replay.seek(turn);
+            line.setLength(0);
+            line.append(replay.seed).append(": turn ").append(Math.min(turn, replay.turns()));
+            for (PlayerState player : game.seats) {
+                line.append(", ").append(player.name).append(' ');
+                if (game.players.contains(player)) {
+                    MoneyFormat.appendTo(line, player.money).append(" at ").append(player.space);
+                } else {
+                    line.append("bankrupt");
+                }
+            }
+            System.out.println(line);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d games in %.1f s (%.0f games/minute)%n",
+            replays.size(), seconds, replays.size() / seconds * 60);
+    }
+}
@@ -0,0 +1,245 @@
+package sample;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+/**
+ * A saved game in progress, to resume it after the application was closed or crashed: every player (money,
+ * space, Deserted Island turns, tickets, Golden Key items, Space Station, Bot policy if not human), the owner and buildings of every
+ * Property, the welfare pot, the Golden Key deck order, the turn and the state of the dice, and the id of the
+ * game in its GameJournal. The loaded game goes on with the same dice and cards as if it had never stopped.
+ * <p>
+ * FORMAT: "BMSV", version, the fields in the order of encode(), then a CRC32 of all the bytes before it.
+ * Saves are a few hundred bytes; an Autosaver writes one after every turn.
+ */
+final class GameSave {
+    static final int MAGIC = 0x424D5356;  // "BMSV"
+    static final int VERSION = 3;
+    static final String FILE_NAME = "game.save";
+
+    final GameEngine game;
+    final String[] planes;  // plane color of every seat, by PlayerState.id
+    final long journaled;   // id of the game in the GameJournal; GameJournal.UNASSIGNED if not journaled
+
+    private GameSave(GameEngine game, String[] planes, long journaled) {
+        this.game = game;
+        this.planes = planes;
+        this.journaled = journaled;
+    }
+
+    /**
+     * @param planes plane color of every seat, by PlayerState.id
+     * @return the save of the game as it is now
+     */
+    static byte[] encode(GameEngine game, String[] planes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(game.seed);
+            out.writeLong(game.journal == null ? GameJournal.UNASSIGNED : game.journal.game());
+            out.writeLong(game.random.state());
+            out.writeByte(game.seats.length);
+            for (PlayerState player : game.seats) {
+                out.writeUTF(player.name);
+                out.writeUTF(planes[player.id]);
+                out.writeUTF(player.decisions instanceof Bot ? ((Bot) player.decisions).name : "");
+                out.writeLong(player.money);
+                out.writeByte(player.space);
+                out.writeByte(player.turnsLeftOnDesertedIsland);
+                out.writeByte(player.complimentaryTickets);
+                out.writeBoolean(player.escapeDesertedIsland);
+                out.writeBoolean(player.spaceStation);
+            }
+            out.writeByte(game.players.size());
+            for (PlayerState player : game.players) {
+                out.writeByte(player.id);
+            }
+            out.writeByte(game.turn);
+            out.writeBoolean(game.gotDouble);
+            out.writeByte(game.die1);
+            out.writeByte(game.die2);
+            out.writeLong(game.welfare);
+            out.writeBoolean(game.freeSpaceStation);
+            out.writeShort(game.goldenKeys.length);
+            for (int card : game.goldenKeys) {
+                out.writeShort(card);
+            }
+            out.writeShort(game.nextGoldenKey);
+            for (int space = 0; space < Board.SIZE; space++) {
+                out.writeByte(game.board.owners[space]);
+                out.writeByte(game.board.configurations[space]);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeInt((int) crc.getValue());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // a ByteArrayOutputStream doesn't throw
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Rebuilds a saved game. Its Bots play again with their policies; its human players have no Decisions or
+     * DebtHandlers yet.
+     *
+     * @param deck     the Golden Key cards the game was played with
+     * @param listener notified of every state change of the game; may be NULL
+     * @throws IOException thrown if the file can't be read, or is corrupt or of another version
+     */
+    static GameSave read(Path file, GoldenKeyDeck deck, GameListener listener) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, Math.max(bytes.length - 4, 0));
+        if (bytes.length < 12 || ByteBuffer.wrap(bytes).getInt(0) != MAGIC ||
+            ByteBuffer.wrap(bytes).getInt(4) != VERSION)
+            throw new IOException(file + " is not a saved game of version " + VERSION);
+        if ((int) crc.getValue() != ByteBuffer.wrap(bytes).getInt(bytes.length - 4))
+            throw new IOException(file + " is corrupt");
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 8, bytes.length - 12));
+        long seed = in.readLong();
+        long journaled = in.readLong();
+        long random = in.readLong();
+        List<PlayerState> seats = new ArrayList<>(4);
+        String[] planes = new String[in.readUnsignedByte()];
+        for (int id = 0; id < planes.length; id++) {
+            PlayerState player = new PlayerState(id, in.readUTF());
+            planes[id] = in.readUTF();
+            String policy = in.readUTF();
+            if (!policy.isEmpty()) {
+                try {
+                    Bot bot = Bot.named(policy);
+                    player.decisions = bot;
+                    player.debtHandler = bot;
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(file + " is corrupt", e);
+                }
+            }
+            player.money = in.readLong();
+            player.space = in.readUnsignedByte();
+            player.turnsLeftOnDesertedIsland = in.readUnsignedByte();
+            player.complimentaryTickets = in.readUnsignedByte();
+            player.escapeDesertedIsland = in.readBoolean();
+            player.spaceStation = in.readBoolean();
+            seats.add(player);
+        }
+        GameEngine game = new GameEngine(seats, deck, seed, listener);
+        game.random.setState(random);
+        game.players.clear();
+        for (int i = in.readUnsignedByte(); i > 0; i--) {
+            game.players.add(game.seats[in.readUnsignedByte()]);
+        }
+        game.turn = in.readByte();
+        game.gotDouble = in.readBoolean();
+        game.die1 = in.readUnsignedByte();
+        game.die2 = in.readUnsignedByte();
+        game.welfare = in.readLong();
+        game.freeSpaceStation = in.readBoolean();
+        if (in.readUnsignedShort() != game.goldenKeys.length)
+            throw new IOException(file + " was saved with another Golden Key deck");
+        for (int i = 0; i < game.goldenKeys.length; i++) {
+            game.goldenKeys[i] = in.readUnsignedShort();
+        }
+        game.nextGoldenKey = in.readUnsignedShort();
+        for (int space = 0; space < Board.SIZE; space++) {
+            int owner = in.readByte();
+            int configuration = in.readUnsignedByte();
+            if (owner != BoardState.NOBODY)
+                game.restoreProperty(game.seats[owner], game.properties[space], configuration);
+        }
+        return new GameSave(game, planes, journaled);
+    }
+
+    /**
+     * Saves a game on a background thread, so that the caller never waits for the disk. Each save is written
+     * to a temporary file, forced to disk and renamed over the previous one, so the file always holds a whole
+     * save even after a crash or a power cut. Saves requested while one is being written are coalesced into
+     * the latest.
+     */
+    static final class Autosaver {
+        private final Path file;
+        private final Path temporary;
+        private final AtomicReference<byte[]> pending = new AtomicReference<>();
+        private final ExecutorService writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "Autosaver");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Autosaver(Path file) {
+            this.file = file;
+            temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        }
+
+        /**
+         * @param planes plane color of every seat, by PlayerState.id
+         */
+        void save(GameEngine game, String[] planes) {
+            if (pending.getAndSet(encode(game, planes)) == null)
+                writer.execute(this::writePending);
+        }
+
+        private void writePending() {
+            byte[] save = pending.getAndSet(null);
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(save);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            } catch (IOException e) {
+                e.printStackTrace();  // the previous save stays
+                return;
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        /**
+         * Deletes the save once the saves being written are done, when the game is over; nothing is saved
+         * afterwards
+         */
+        void discard() {
+            writer.execute(() -> {
+                try {
+                    Files.deleteIfExists(file);
+                    Files.deleteIfExists(temporary);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            });
+            writer.shutdown();
+        }
+
+        /**
+         * Waits for the last save (or discard) to be written, e.g. before the application exits
+         */
+        void close() throws InterruptedException {
+            writer.shutdown();
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
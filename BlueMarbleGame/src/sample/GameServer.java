@@ -0,0 +1,318 @@
+package sample;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Server mode: hosts independent GameSessions over a line-based TCP protocol (see GameSession for the lines it
+ * sends). Every game is played at a table of client connections, its terminals. A client starts a game of its
+ * own with
+ * NEW (REMOTE or Bot policy),(REMOTE or Bot policy)[,...]
+ * and plays every REMOTE seat; or opens a table with OPEN (seats), gets TABLE (id), and the game starts once
+ * other clients took the other REMOTE seats with JOIN (id). Clients joining a full table watch. Every terminal
+ * gets every line of the game, and YOU (seat) for each seat it plays. A client plays its seats with ANSWER (n)
+ * whenever asked, and leaves with QUIT (or by closing the connection): Bots take over its seats. A client may
+ * start a new game once the last one is over.
+ * <p>
+ * A client that sends COMPRESS before anything else gets everything after compressed (see LineChannel). The
+ * lines a command makes go out in one write, so a terminal gets each batch of changes in one packet.
+ * <p>
+ * One thread serves every connection with a Selector. Sessions never wait for their clients (they return as
+ * soon as they ask a question) and Bot turns take microseconds, so a session waiting for an answer costs
+ * only its memory: its engine, a DecisionLog bounded by GameSession.MAX_TURNS and the LineChannel buffers.
+ * <p>
+ * Usage: java sample.GameServer [port] [Golden Key deck file]
+ */
+public class GameServer {
+    static final int DEFAULT_PORT = 7777;
+    static final int BACKLOG = 1024;
+    static final long STATUS_MILLIS = 10_000;
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final GoldenKeyDeck deck;
+    private final SplittableRandom seeds = new SplittableRandom();
+    private final Map<Integer, Table> tables = new HashMap<>();
+    private final ArrayDeque<Connection> unflushed = new ArrayDeque<>();  // sent lines since the last flush
+    private int connections;
+    private int tablesOpened;
+    private long gamesStarted;
+
+    GameServer(int port, GoldenKeyDeck deck) throws IOException {
+        this.deck = deck;
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port), BACKLOG);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * The terminals of a game, and the seats they play
+     */
+    private final class Table {
+        final int id = ++tablesOpened;
+        final String[] controllers;
+        final Connection[] seated;  // by seat; NULL for Bots and free REMOTE seats
+        final List<Connection> terminals = new ArrayList<>(4);
+        GameSession session;  // NULL until every REMOTE seat is taken
+
+        /**
+         * @throws IllegalArgumentException thrown if there are too few or too many seats, or no such policy
+         */
+        Table(String seats) {
+            controllers = seats.split(",");
+            seated = new Connection[controllers.length];
+            GameSession.checkSeats(controllers);
+            tables.put(id, this);
+        }
+
+        /**
+         * Seats the terminal at every free REMOTE seat, or at the first one
+         */
+        void join(Connection terminal, boolean everySeat) {
+            terminals.add(terminal);
+            terminal.table = this;
+            for (int seat = 0; seat < seated.length; seat++) {
+                if (session == null && seated[seat] == null && controllers[seat].equals(GameSession.REMOTE)) {
+                    seated[seat] = terminal;
+                    terminal.send("YOU " + seat);
+                    if (!everySeat)
+                        break;
+                }
+            }
+            if (session != null) {
+                session.snapshot(terminal::send);
+                return;
+            }
+            for (int seat = 0; seat < seated.length; seat++) {
+                if (seated[seat] == null && controllers[seat].equals(GameSession.REMOTE))
+                    return;  // waiting for players
+            }
+            session = new GameSession(controllers, deck, seeds.nextLong(), this::broadcast);
+            gamesStarted++;
+            session.play();
+        }
+
+        void leave(Connection terminal) {
+            terminals.remove(terminal);
+            terminal.table = null;
+            for (int seat = 0; seat < seated.length; seat++) {
+                if (seated[seat] == terminal) {
+                    seated[seat] = null;
+                    if (session != null)
+                        session.abandon(seat);
+                }
+            }
+            if (terminals.isEmpty())
+                tables.remove(id);
+        }
+
+        void broadcast(String line) {
+            for (Connection terminal : terminals) {
+                terminal.send(line);
+            }
+        }
+
+        void answer(Connection terminal, int answer) {
+            if (session == null)
+                throw new IllegalStateException("Waiting for players");
+            int asked = session.askedSeat();
+            if (asked < 0 || seated[asked] != terminal)
+                throw new IllegalStateException("No question asked");
+            session.answer(answer);
+        }
+    }
+
+    /**
+     * A client connection, a terminal of at most one table at a time
+     */
+    private final class Connection {
+        final LineChannel lines;
+        final SelectionKey key;
+        Table table;     // NULL before the first NEW, OPEN or JOIN
+        boolean quit;
+        boolean queued;  // in the unflushed queue
+        boolean closed;
+
+        Connection(SocketChannel channel) throws IOException {
+            lines = new LineChannel(channel);
+            key = channel.register(selector, SelectionKey.OP_READ, this);
+        }
+
+        void send(String line) {
+            lines.send(line);
+            if (!queued) {
+                queued = true;
+                unflushed.add(this);
+            }
+        }
+
+        void received(String line) {
+            String[] words = line.trim().split(" ", 2);
+            try {
+                switch (words[0]) {
+                    case "COMPRESS":
+                        lines.compress();
+                        break;
+                    case "NEW":
+                    case "OPEN":
+                        if (words.length < 2)
+                            throw new IllegalArgumentException(words[0] + " (seats)");
+                        leaveFinished();
+                        Table opened = new Table(words[1]);
+                        send("TABLE " + opened.id);
+                        opened.join(this, words[0].equals("NEW"));
+                        break;
+                    case "JOIN":
+                        if (words.length < 2)
+                            throw new IllegalArgumentException("JOIN (table)");
+                        Table joined = tables.get(Integer.parseInt(words[1].trim()));
+                        if (joined == null)
+                            throw new IllegalArgumentException("No table " + words[1].trim());
+                        leaveFinished();
+                        joined.join(this, false);
+                        break;
+                    case "ANSWER":
+                        if (table == null)
+                            throw new IllegalStateException("No game");
+                        if (words.length < 2)
+                            throw new IllegalArgumentException("ANSWER (n)");
+                        table.answer(this, Integer.parseInt(words[1].trim()));
+                        break;
+                    case "QUIT":
+                        quit = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown command " + words[0]);
+                }
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                send("ERROR " + e.getMessage());
+            }
+        }
+
+        /**
+         * Leaves the table before going to another one
+         *
+         * @throws IllegalStateException thrown if this terminal plays the game of the table, and it's not over
+         */
+        private void leaveFinished() {
+            if (table == null)
+                return;
+            if (table.session != null && !table.session.isOver() && Arrays.asList(table.seated).contains(this))
+                throw new IllegalStateException("A game is being played");
+            table.leave(this);
+        }
+
+        void close() {
+            if (closed)
+                return;
+            closed = true;
+            key.cancel();
+            if (table != null)
+                table.leave(this);
+            try {
+                lines.close();
+            } catch (IOException e) {
+                // closed anyway
+            }
+            connections--;
+        }
+    }
+
+    /**
+     * Serves until the thread is interrupted
+     */
+    void serve() throws IOException {
+        long status = System.currentTimeMillis() + STATUS_MILLIS;
+        while (!Thread.currentThread().isInterrupted()) {
+            selector.select(STATUS_MILLIS);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid())
+                    continue;
+                if (key.isAcceptable()) {
+                    SocketChannel channel = server.accept();
+                    if (channel == null)
+                        continue;
+                    channel.configureBlocking(false);
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);  // a batch is one packet already
+                    new Connection(channel);
+                    connections++;
+                    continue;
+                }
+                Connection connection = (Connection) key.attachment();
+                try {
+                    if (key.isReadable() && !connection.lines.read(connection::received)) {
+                        connection.close();
+                        continue;
+                    }
+                } catch (IOException e) {
+                    connection.close();
+                    continue;
+                } catch (RuntimeException e) {
+                    e.printStackTrace();  // a broken session mustn't take the others down
+                    connection.close();
+                    continue;
+                }
+                if (!connection.queued) {
+                    connection.queued = true;
+                    unflushed.add(connection);
+                }
+            }
+            flush();
+            if (System.currentTimeMillis() >= status) {
+                status += STATUS_MILLIS;
+                Runtime runtime = Runtime.getRuntime();
+                System.out.printf("%d connections, %d tables, %d games started, %d MB used%n", connections,
+                    tables.size(), gamesStarted, (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+            }
+        }
+    }
+
+    /**
+     * Writes what was sent to every connection since the last flush, including the other terminals of the
+     * tables played; waits to be selected for what the sockets don't take yet
+     */
+    private void flush() {
+        for (Connection connection; (connection = unflushed.poll()) != null; ) {
+            connection.queued = false;
+            if (connection.closed)
+                continue;
+            try {
+                boolean flushed = connection.lines.flush();
+                if (connection.quit && flushed || connection.lines.isOverflowed()) {
+                    connection.close();
+                } else {
+                    connection.key.interestOps(flushed ? SelectionKey.OP_READ :
+                        SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+            } catch (IOException e) {
+                connection.close();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        GoldenKeyDeck deck = args.length > 1 ? GoldenKeyDeck.load(args[1]) : GoldenKeyDeck.standard();
+        GameServer server = new GameServer(port, deck);
+        System.out.println("Serving games on port " + port);
+        server.serve();
+    }
+}
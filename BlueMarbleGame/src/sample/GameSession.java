@@ -0,0 +1,282 @@
+package sample;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * One game hosted by the GameServer for a table of clients, who play its REMOTE seats; Bots play the others.
+ * Sessions share nothing, so any number of them can be played side by side.
+ * <p>
+ * A session never waits for its client: it steps its engine until a remote seat is asked a question, sends
+ * the question and returns. No ROLL or DECIDE phase changes the game before its question, so when the answer
+ * comes the phase is played again, asks the same question and gets the answer. Remote seats raise funds with
+ * the Liquidation (the debt window's suggestion), since a payment can't stop halfway for an answer.
+ * <p>
+ * Lines sent to the client:
+ * GAME (seed) (# seats); SEAT (id) (REMOTE or Bot policy); TURN (id); DICE (die1) (die2); SPACE (id) (space);
+ * MONEY (id) (money); PROPERTY (space) (owner or -1) (configuration); WELFARE (welfare);
+ * ELIMINATED (id) (shark or -1) (cause); ASK (question) (id) [space]; ERROR (message);
+ * OVER (winner, or -1 after MAX_TURNS turns). Every line but DICE and ERROR is the new state of something, so
+ * a client joining late catches up with a snapshot of the same lines.
+ * Questions: PURCHASE, BUILD, TICKET (space); ENTER, DESTINATION, ESCAPE. Answers are 0/1 for yes/no, the
+ * configuration number or -1 to keep the buildings, or the destination.
+ */
+final class GameSession implements GameListener {
+    static final String REMOTE = "REMOTE";
+    static final int MAX_TURNS = 1000;
+
+    private final GameEngine engine;
+    private final String[] controllers;
+    private final Bot[] bots;  // of every seat; the REMOTE seats' raise funds, and take over abandoned seats
+    private final Consumer<String> client;
+    private final Remote remote = new Remote();
+    private final List<String> eliminations = new ArrayList<>();  // the ELIMINATED lines sent, for snapshots
+    private int turns;
+    private boolean over;
+
+    /**
+     * @param controllers REMOTE or the Bot policy of every seat, 2-4 seats; MonteCarloBots would hold up every
+     *                    other session while they search
+     * @param client      gets every line sent to the clients
+     * @throws IllegalArgumentException thrown if there are too few or too many seats, or no such policy
+     */
+    GameSession(String[] controllers, GoldenKeyDeck deck, long seed, Consumer<String> client) {
+        bots = checkSeats(controllers);
+        List<PlayerState> players = new ArrayList<>(controllers.length);
+        for (int i = 0; i < controllers.length; i++) {
+            PlayerState player = new PlayerState(i, "Player " + (i + 1));
+            Bot bot = bots[i];
+            player.decisions = controllers[i].equals(REMOTE) ? remote : bot;
+            player.debtHandler = bot;
+            players.add(player);
+        }
+        this.controllers = controllers.clone();
+        this.client = client;
+        engine = new GameEngine(players, deck, seed, this);
+        sendSeats(client);
+        client.accept("TURN " + engine.currentPlayer().id);
+    }
+
+    /**
+     * @param controllers REMOTE or the Bot policy of every seat
+     * @return the Bot of every seat, taking over REMOTE seats when needed
+     * @throws IllegalArgumentException thrown if there are too few or too many seats, or no such policy
+     */
+    static Bot[] checkSeats(String[] controllers) {
+        if (controllers.length < 2 || controllers.length > 4)
+            throw new IllegalArgumentException("A game needs 2-4 players");
+        Bot[] bots = new Bot[controllers.length];
+        for (int i = 0; i < controllers.length; i++) {
+            bots[i] = Bot.named(controllers[i].equals(REMOTE) ? "greedy" : controllers[i]);
+            if (bots[i] instanceof MonteCarloBot)
+                throw new IllegalArgumentException(controllers[i] + " can't play on the server");
+        }
+        return bots;
+    }
+
+    private void sendSeats(Consumer<String> client) {
+        client.accept("GAME " + engine.seed + " " + controllers.length);
+        for (int i = 0; i < controllers.length; i++) {
+            client.accept("SEAT " + i + " " + controllers[i]);
+        }
+    }
+
+    boolean isOver() {
+        return over;
+    }
+
+    /**
+     * @return the seat asked the question pending; -1 if none
+     */
+    int askedSeat() {
+        return over || remote.question == null ? -1 : remote.seat;
+    }
+
+    /**
+     * Sends the game as it is now, for a client joining late: the lines sent so far would leave it the same
+     */
+    void snapshot(Consumer<String> client) {
+        sendSeats(client);
+        if (!over)
+            client.accept("TURN " + engine.currentPlayer().id);
+        client.accept("WELFARE " + engine.welfare);
+        for (PlayerState player : engine.seats) {
+            client.accept("MONEY " + player.id + " " + player.money);
+            client.accept("SPACE " + player.id + " " + player.space);
+        }
+        for (PropertyState property : engine.properties) {
+            if (property != null && property.owner() != null)
+                propertyChanged(property, client);
+        }
+        eliminations.forEach(client);
+        if (over) {
+            PlayerState winner = engine.winner();
+            client.accept("OVER " + (winner == null ? -1 : winner.id));
+        } else if (remote.question != null) {
+            client.accept("ASK " + remote.question);
+        }
+    }
+
+    /**
+     * A Bot takes over the REMOTE seat, e.g. once its client left; plays on if the seat was asked
+     */
+    void abandon(int seat) {
+        PlayerState player = engine.seats[seat];
+        if (over || player.decisions != remote)
+            return;
+        player.decisions = bots[seat];
+        if (askedSeat() == seat) {
+            remote.question = null;
+            play();
+        }
+    }
+
+    /**
+     * Plays until a remote seat is asked a question, or the game is over
+     */
+    void play() {
+        while (!engine.isOver() && turns < MAX_TURNS) {
+            if (engine.phase == TurnPhase.END_TURN) {
+                // the current Player may be eliminated: there's none until the turn passes
+                engine.step();
+                turns++;
+                client.accept("TURN " + engine.currentPlayer().id);
+                continue;
+            }
+            PlayerState player = engine.currentPlayer();
+            boolean rolling = engine.phase == TurnPhase.ROLL && !player.spaceStation;
+            int space = player.space;
+            try {
+                engine.step();
+            } catch (DecisionPendingException question) {
+                client.accept("ASK " + question.getMessage());
+                return;
+            }
+            if (rolling)
+                client.accept("DICE " + engine.die1 + " " + engine.die2);
+            if (player.space != space)
+                client.accept("SPACE " + player.id + " " + player.space);
+        }
+        over = true;
+        PlayerState winner = engine.winner();
+        client.accept("OVER " + (winner == null ? -1 : winner.id));
+    }
+
+    /**
+     * Answers the question asked, then plays on
+     *
+     * @throws IllegalStateException thrown if no question was asked, or the game is over
+     */
+    void answer(int answer) {
+        if (over || remote.question == null)
+            throw new IllegalStateException("No question asked");
+        remote.answer = answer;
+        remote.answered = true;
+        try {
+            play();
+        } catch (IllegalArgumentException e) {
+            // refused by the Remote before the engine changed anything: the question stands
+            client.accept("ERROR " + e.getMessage());
+            client.accept("ASK " + remote.question);
+        }
+    }
+
+    @Override
+    public void moneyChanged(PlayerState player) {
+        client.accept("MONEY " + player.id + " " + player.money);
+    }
+
+    @Override
+    public void propertyChanged(PropertyState property) {
+        propertyChanged(property, client);
+    }
+
+    private static void propertyChanged(PropertyState property, Consumer<String> client) {
+        PlayerState owner = property.owner();
+        client.accept("PROPERTY " + property.space + " " + (owner == null ? -1 : owner.id) + " " +
+            property.getConfiguration());
+    }
+
+    @Override
+    public void welfareChanged(long welfare) {
+        client.accept("WELFARE " + welfare);
+    }
+
+    @Override
+    public void playerEliminated(PlayerState loser, PlayerState shark, BankruptcyCause cause) {
+        String line = "ELIMINATED " + loser.id + " " + (shark == null ? -1 : shark.id) + " " + cause;
+        eliminations.add(line);
+        client.accept(line);
+    }
+
+    /**
+     * Decisions of the remote seats: the client's answer to the question asked, if it came already
+     */
+    private static final class Remote implements Decisions {
+        String question;  // the question asked last; NULL if none
+        int seat;         // of the player asked
+        int answer;
+        boolean answered;
+
+        private int ask(PlayerState player, String question, int min, int max) {
+            return ask(player, question, min, max, min - 1);
+        }
+
+        /**
+         * @param min      lowest valid answer
+         * @param max      highest valid answer
+         * @param excluded invalid answer between them
+         * @throws DecisionPendingException thrown if the client hasn't answered yet
+         * @throws IllegalArgumentException thrown if the answer isn't valid
+         */
+        private int ask(PlayerState player, String question, int min, int max, int excluded) {
+            if (!answered) {
+                this.question = question;
+                seat = player.id;
+                throw new DecisionPendingException(question);
+            }
+            answered = false;
+            if (answer < min || answer > max || answer == excluded)
+                throw new IllegalArgumentException("Answer " + answer + " isn't valid");
+            this.question = null;
+            return answer;
+        }
+
+        @Override
+        public boolean purchase(GameEngine game, PlayerState player, PropertyState property) {
+            return ask(player, "PURCHASE " + player.id + " " + property.space, 0, 1) != 0;
+        }
+
+        @Override
+        public int build(GameEngine game, PlayerState player, PropertyState property) {
+            return ask(player, "BUILD " + player.id + " " + property.space, KEEP_BUILDINGS,
+                PropertyState.CONFIGURATIONS - 1);
+        }
+
+        @Override
+        public boolean useComplimentaryTicket(GameEngine game, PlayerState player, PropertyState property) {
+            return ask(player, "TICKET " + player.id + " " + property.space, 0, 1) != 0;
+        }
+
+        @Override
+        public boolean enterSpaceStation(GameEngine game, PlayerState player) {
+            return ask(player, "ENTER " + player.id, 0, 1) != 0;
+        }
+
+        @Override
+        public int spaceStationDestination(GameEngine game, PlayerState player) {
+            return ask(player, "DESTINATION " + player.id, 0, Board.SIZE - 1, Board.SPACE_STATION);
+        }
+
+        @Override
+        public boolean useEscapeDesertedIsland(GameEngine game, PlayerState player) {
+            return ask(player, "ESCAPE " + player.id, 0, 1) != 0;
+        }
+
+        @Override
+        public boolean raiseFunds(GameEngine game, PlayerState debtor, PlayerState creditor, long debt) {
+            throw new IllegalStateException("Remote seats raise funds with the Liquidation");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package sample;
+
+/**
+ * How fast the GameManager shows a game: the rate of the dice and plane animations, and how long
+ * informational popups stay up before closing by themselves. INSTANT shows no animation, and plays the
+ * Bots' turns in batches, showing the board after each.
+ */
+enum GameSpeed {
+    REAL_TIME("Real time", 1),
+    DOUBLE("2x", 2),
+    FAST("10x", 10),
+    INSTANT("Instant", 0);
+
+    final String label;
+    final double rate;  // animation rate; 0 skips the animations
+
+    GameSpeed(String label, double rate) {
+        this.label = label;
+        this.rate = rate;
+    }
+
+    boolean isInstant() {
+        return rate == 0;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,83 @@
+package sample;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Golden Key cards of a game, loaded from a deck file (GoldenKeys.txt by default) so that alternative
+ * decks don't need recompiling. Cards are identified by their index in the deck; a deck is immutable and
+ * shared by every game played with it, while each GameEngine keeps its own shuffled order.
+ * <p>
+ * FORMAT: one card per line, "(card image #) (effect name) (arguments...)"; '#' starts a comment.
+ */
+final class GoldenKeyDeck {
+    static final String FILE_NAME = "GoldenKeys.txt";
+
+    private static GoldenKeyDeck standard;
+
+    final int[] images;                 // n for img_goldenkeys/goldenkey(n).jpg
+    final GoldenKeyEffect[] effects;
+
+    private GoldenKeyDeck(int[] images, GoldenKeyEffect[] effects) {
+        this.images = images;
+        this.effects = effects;
+    }
+
+    /**
+     * @return the deck of GoldenKeys.txt, loaded once
+     * @throws IOException thrown if the deck file can't be read or has errors
+     */
+    static synchronized GoldenKeyDeck standard() throws IOException {
+        if (standard == null)
+            standard = load(FILE_NAME);
+        return standard;
+    }
+
+    /**
+     * @param path path of the deck file, resolved like any other asset
+     * @throws IOException thrown if the deck file can't be read or has errors
+     */
+    static GoldenKeyDeck load(String path) throws IOException {
+        List<Integer> images = new ArrayList<>();
+        List<GoldenKeyEffect> effects = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(Assets.open(path), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                int comment = line.indexOf('#');
+                String[] tokens = (comment < 0 ? line : line.substring(0, comment)).trim().split("\\s+");
+                if (tokens[0].isEmpty())
+                    continue;
+                try {
+                    if (tokens.length < 2)
+                        throw new IllegalArgumentException("expected (card image #) (effect name)");
+                    long[] arguments = new long[tokens.length - 2];
+                    for (int i = 0; i < arguments.length; i++) {
+                        arguments[i] = Long.parseLong(tokens[i + 2]);
+                    }
+                    images.add(Integer.parseInt(tokens[0]));
+                    effects.add(GoldenKeyEffect.of(tokens[1], arguments));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(path + ":" + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        if (effects.isEmpty())
+            throw new IOException(path + " has no Golden Key cards");
+
+        int[] imageArray = new int[images.size()];
+        for (int i = 0; i < imageArray.length; i++) {
+            imageArray[i] = images.get(i);
+        }
+        return new GoldenKeyDeck(imageArray, effects.toArray(new GoldenKeyEffect[0]));
+    }
+
+    int size() {
+        return effects.length;
+    }
+}
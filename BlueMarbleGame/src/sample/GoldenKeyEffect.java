@@ -0,0 +1,289 @@
+package sample;
+
+/**
+ * GoldenKeyEffect abstract class is what a Golden Key card does to the Player who drew it. Effects are made once
+ * per card when the GoldenKeyDeck is loaded, and applied without creating any object.
+ * NESTED SUBCLASSES: one per effect name of the deck file (see GoldenKeys.txt)
+ */
+abstract class GoldenKeyEffect {
+    static final int NOWHERE = -1;
+
+    /**
+     * @return number of spaces the Player moved (negative if backwards); 0 if they didn't move
+     */
+    abstract int apply(GameEngine game, PlayerState player);
+
+    /**
+     * Where the card sends a Player without playing it out, for LandingProbabilities
+     *
+     * @param space space of the Golden Key the card was drawn on
+     * @return space where the Player lands next; NOWHERE if they don't land anywhere else
+     */
+    int sendsTo(int space) {
+        return NOWHERE;
+    }
+
+    /**
+     * Makes the effect of one line of the deck file
+     *
+     * @param name      effect name, e.g. "RIDE"
+     * @param arguments numbers following the name
+     * @throws IllegalArgumentException thrown if there is no such effect or the arguments don't fit it
+     */
+    static GoldenKeyEffect of(String name, long[] arguments) {
+        switch (name) {
+            case "RECEIVE":
+                return new Receive(argument(name, arguments, 1, 0));
+            case "PAY":
+                return new Pay(argument(name, arguments, 1, 0));
+            case "COLLECT_FROM_EACH":
+                return new CollectFromEach(argument(name, arguments, 1, 0));
+            case "BUILDING_FEE":
+                return new BuildingFee(argument(name, arguments, 3, 0), arguments[1], arguments[2]);
+            case "SELL_MOST_EXPENSIVE":
+                argument(name, arguments, 0, 0);
+                return new SellMostExpensive();
+            case "MOVE_TO":
+                return new MoveTo(space(name, arguments, 1, 0));
+            case "MOVE_BY":
+                return new MoveBy((int) argument(name, arguments, 1, 0));
+            case "RIDE":
+                return new Ride(space(name, arguments, 3, 0), arguments[1], space(name, arguments, 3, 2));
+            case "WORLD_TOUR":
+                argument(name, arguments, 0, 0);
+                return new WorldTour();
+            case "FREE_SPACE_STATION":
+                argument(name, arguments, 0, 0);
+                return new FreeSpaceStation();
+            case "DESERTED_ISLAND":
+                argument(name, arguments, 0, 0);
+                return new DesertedIsland();
+            case "ESCAPE_DESERTED_ISLAND":
+                argument(name, arguments, 0, 0);
+                return new EscapeDesertedIsland();
+            case "COMPLIMENTARY_TICKET":
+                argument(name, arguments, 0, 0);
+                return new ComplimentaryTicket();
+            default:
+                throw new IllegalArgumentException("No Golden Key effect named " + name);
+        }
+    }
+
+    /**
+     * @param count number of arguments the effect takes
+     * @return the index-th argument; 0 if the effect takes no argument
+     */
+    private static long argument(String name, long[] arguments, int count, int index) {
+        if (arguments.length != count)
+            throw new IllegalArgumentException(name + " takes " + count + " argument(s)");
+        return count == 0 ? 0 : arguments[index];
+    }
+
+    private static int space(String name, long[] arguments, int count, int index) {
+        long space = argument(name, arguments, count, index);
+        if (space < 0 || space >= Board.SIZE)
+            throw new IllegalArgumentException(name + ": no space " + space);
+        return (int) space;
+    }
+
+    static class Receive extends GoldenKeyEffect {
+        final long amount;
+
+        Receive(long amount) {
+            this.amount = amount;
+        }
+
+        @Override
+        int apply(GameEngine game, PlayerState player) {
+            game.changeMoney(player, amount);
+            return 0;
+        }
+    }
+
+    static class Pay extends GoldenKeyEffect {
+        final long amount;
+
+        Pay(long amount) {
+            this.amount = amount;
+        }
+
+        @Override
+        int apply(GameEngine game, PlayerState player) {
+            game.settle(player, null, amount, BankruptcyCause.GOLDEN_KEY);
+            return 0;
+        }
+    }
+
+    static class CollectFromEach extends GoldenKeyEffect {
+        final long amount;
+
+        CollectFromEach(long amount) {
+            this.amount = amount;
+        }
+
+        @Override
+        int apply(GameEngine game, PlayerState player) {
+            for (int i = 0; i < game.players.size(); i++) {
+                PlayerState opponent = game.players.get(i);
+                // an opponent who goes bankrupt leaves the list, and the next one takes their index
+                if (opponent != player && !game.settle(opponent, player, amount, BankruptcyCause.GOLDEN_KEY))
+                    i--;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Building maintenance: a fee per HOUSE, OFFICE_BUILDING and HOTEL the Player owns
+     */
+    static class BuildingFee extends GoldenKeyEffect {
+        final long[] perBuilding;
+
+        BuildingFee(long house, long officeBuilding, long hotel) {
+            perBuilding = new long[]{house, officeBuilding, hotel};
+        }
+
+        long fee(PlayerState player) {
+            return perBuilding[0] * player.buildings[0] + perBuilding[1] * player.buildings[1] +
+                perBuilding[2] * player.buildings[2];
+        }
+
+        @Override
+        int apply(GameEngine game, PlayerState player) {
+            game.settle(player, null, fee(player), BankruptcyCause.GOLDEN_KEY);
+            return 0;
+        }
+    }
+
+    static class SellMostExpensive extends GoldenKeyEffect {
+        @Override
+        int apply(GameEngine game, PlayerState player) {
+            PropertyState mostExpensive = game.mostExpensiveProperty(player);
+            if (mostExpensive != null) {
+                long halfPrice = mostExpensive.price() / 2;
+                game.sell(player, mostExpensive);
+                game.changeMoney(player, -halfPrice);
+            }
+            return 0;
+        }
+    }
+
+    static class MoveTo extends GoldenKeyEffect {
+        final int destination;
+
+        MoveTo(int destination) {
+            this.destination = destination;
+        }
+
+        @Override
+        int apply(GameEngine game, PlayerState player) {
+            return game.moveTo(player, destination);
+        }
+
+        @Override
+        int sendsTo(int space) {
+            return destination;
+        }
+    }
+
+    static class MoveBy extends GoldenKeyEffect {
+        final int delta;
+
+        MoveBy(int delta) {
+            this.delta = delta;
+        }
+
+        @Override
+        int apply(GameEngine game, PlayerState player) {
+            game.move(player, delta);
+            return delta;
+        }
+
+        @Override
+        int sendsTo(int space) {
+            return Math.floorMod(space + delta, Board.SIZE);
+        }
+    }
+
+    /**
+     * Golden Key trips: pay the fare to the owner of the vehicle (if any), then travel to the destination
+     */
+    static class Ride extends GoldenKeyEffect {
+        final int vehicle;
+        final long fare;
+        final int destination;
+
+        Ride(int vehicle, long fare, int destination) {
+            this.vehicle = vehicle;
+            this.fare = fare;
+            this.destination = destination;
+        }
+
+        @Override
+        int apply(GameEngine game, PlayerState player) {
+            PlayerState owner = game.properties[vehicle] == null ? null : game.properties[vehicle].owner();
+            if (owner != null && owner != player && !game.settle(player, owner, fare, BankruptcyCause.GOLDEN_KEY))
+                return 0;
+            return game.moveTo(player, destination);
+        }
+
+        @Override
+        int sendsTo(int space) {
+            return destination;
+        }
+    }
+
+    /**
+     * The Player goes around the whole board; their landing isn't resolved again
+     */
+    static class WorldTour extends GoldenKeyEffect {
+        @Override
+        int apply(GameEngine game, PlayerState player) {
+            game.move(player, Board.SIZE);
+            game.collectWelfare(player);
+            return Board.SIZE;
+        }
+    }
+
+    static class FreeSpaceStation extends GoldenKeyEffect {
+        @Override
+        int apply(GameEngine game, PlayerState player) {
+            game.freeSpaceStation = true;
+            return game.moveTo(player, Board.SPACE_STATION);
+        }
+
+        @Override
+        int sendsTo(int space) {
+            return Board.SPACE_STATION;
+        }
+    }
+
+    static class DesertedIsland extends GoldenKeyEffect {
+        @Override
+        int apply(GameEngine game, PlayerState player) {
+            game.landOnDesertedIsland(player);
+            return 0;
+        }
+
+        @Override
+        int sendsTo(int space) {
+            return Board.DESERTED_ISLAND;
+        }
+    }
+
+    static class EscapeDesertedIsland extends GoldenKeyEffect {
+        @Override
+        int apply(GameEngine game, PlayerState player) {
+            player.escapeDesertedIsland = true;
+            return 0;
+        }
+    }
+
+    static class ComplimentaryTicket extends GoldenKeyEffect {
+        @Override
+        int apply(GameEngine game, PlayerState player) {
+            player.complimentaryTickets++;
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package sample;
+
+import javafx.scene.image.Image;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+
+/**
+ * Process-wide cache of decoded images, keyed by path and target size, so identical icons are decoded once
+ * and share one pixel buffer. Entries are held through SoftReferences: the garbage collector may evict
+ * images nobody displays when memory runs low, and they are decoded again on the next request.
+ */
+final class ImageCache {
+    private static final HashMap<String, Entry> cache = new HashMap<>();
+    private static final ReferenceQueue<Image> evicted = new ReferenceQueue<>();
+
+    private static class Entry extends SoftReference<Image> {
+        final String key;
+
+        Entry(String key, Image image) {
+            super(image, evicted);
+            this.key = key;
+        }
+    }
+
+    private ImageCache() {
+    }
+
+    /**
+     * @param path path of the image asset
+     * @return the image decoded at its full resolution
+     */
+    static Image get(String path) throws FileNotFoundException {
+        return get(path, 0, 0);
+    }
+
+    /**
+     * @param path   path of the image asset
+     * @param width  width to decode the image at; 0 for its own width
+     * @param height height to decode the image at; 0 for its own height
+     * @return the image decoded at that size
+     * @throws FileNotFoundException thrown if there is no such image asset
+     */
+    static synchronized Image get(String path, double width, double height) throws FileNotFoundException {
+        purgeEvicted();
+        String key = path + '@' + width + 'x' + height;
+        Entry entry = cache.get(key);
+        Image image = entry == null ? null : entry.get();
+        if (image == null) {
+            try (InputStream in = Assets.open(path)) {
+                image = new Image(in, width, height, false, true);
+            } catch (FileNotFoundException e) {
+                throw e;
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            cache.put(key, new Entry(key, image));
+        }
+        return image;
+    }
+
+    /**
+     * Drops the keys of images the garbage collector has evicted
+     */
+    private static void purgeEvicted() {
+        Entry entry;
+        while ((entry = (Entry) evicted.poll()) != null) {
+            if (cache.get(entry.key) == entry)
+                cache.remove(entry.key);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package sample;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Exact long-run chance of landing on each space, from a Markov chain of the movement rules solved by power
+ * iteration instead of simulating rolls.
+ * <p>
+ * A state is where a Player's next roll starts: one of the 40 spaces, stuck in the Deserted Island with 3, 2 or
+ * 1 turns left, or on Space Station. Doubles only decide when a Player's turn ends, so they only matter for
+ * leaving the Deserted Island. Golden Key cards are drawn with equal chances, as every card comes up once per
+ * pass through the deck. Players are assumed to always enter Space Station and fly to any other space with
+ * equal chances; nobody uses an "ESCAPE DESERTED ISLAND" card.
+ * <p>
+ * Usage: java sample.LandingProbabilities [Golden Key deck file]
+ */
+final class LandingProbabilities {
+    static final double TOLERANCE = 1e-13;
+    static final int MAX_ITERATIONS = 100000;
+    static final int MAX_CHAINED_CARDS = 8;  // a card may send a Player onto another Golden Key
+
+    private static final int ISLAND = Board.SIZE;   // ISLAND + k - 1: stuck with k turns left, k = 1..3
+    private static final int STATION = Board.SIZE + 3;
+    private static final int STATES = Board.SIZE + 4;
+
+    /**
+     * Chance per roll (or Space Station flight) of landing on each space, counting every space landed on
+     * along the way, e.g. both the Golden Key and where its card sends the Player
+     */
+    final double[] perRoll = new double[Board.SIZE];
+    /**
+     * perRoll of each space as the odds text of the purchase and build popups, made once when solved
+     */
+    final String[] oddsText = new String[Board.SIZE];
+    /**
+     * Long-run share of every state; indices [0,39] are the spaces, followed by the Deserted Island
+     * (3, 2, 1 turns left) and Space Station.
+     */
+    final double[] occupancy = new double[STATES];
+    int iterations;
+
+    // sparse transition matrix: state -> next states and their chances, and the spaces landed on on the way
+    private final int[][] targets = new int[STATES][];
+    private final double[][] chances = new double[STATES][];
+    private final double[][] landings = new double[STATES][];
+    private final GoldenKeyDeck deck;
+
+    private LandingProbabilities(GoldenKeyDeck deck) {
+        this.deck = deck;
+    }
+
+    /**
+     * Builds the transition matrix of the board's rules with this deck of Golden Keys and solves it
+     */
+    static LandingProbabilities solve(GoldenKeyDeck deck) {
+        LandingProbabilities solution = new LandingProbabilities(deck);
+        solution.buildTransitions();
+        solution.iterate();
+        return solution;
+    }
+
+    private void buildTransitions() {
+        double[] next = new double[STATES];
+        double[] landed = new double[Board.SIZE];
+        for (int state = 0; state < STATES; state++) {
+            Arrays.fill(next, 0);
+            Arrays.fill(landed, 0);
+            if (state == STATION) {
+                for (int destination = 0; destination < Board.SIZE; destination++) {
+                    if (destination != Board.SPACE_STATION)
+                        arrive(destination, 1.0 / (Board.SIZE - 1), next, landed, 0);
+                }
+            } else {
+                int from = state < Board.SIZE ? state : Board.DESERTED_ISLAND;
+                for (int die1 = 1; die1 <= 6; die1++) {
+                    for (int die2 = 1; die2 <= 6; die2++) {
+                        if (state >= ISLAND && die1 != die2) {
+                            // turns left go down by 1; at 0 the next roll moves from the Deserted Island
+                            int turnsLeft = state - ISLAND;
+                            next[turnsLeft == 0 ? Board.DESERTED_ISLAND : ISLAND + turnsLeft - 1] += 1.0 / 36;
+                        } else {
+                            arrive((from + die1 + die2) % Board.SIZE, 1.0 / 36, next, landed, 0);
+                        }
+                    }
+                }
+            }
+            int count = 0;
+            for (double chance : next) {
+                if (chance > 0)
+                    count++;
+            }
+            targets[state] = new int[count];
+            chances[state] = new double[count];
+            for (int target = 0, i = 0; target < STATES; target++) {
+                if (next[target] > 0) {
+                    targets[state][i] = target;
+                    chances[state][i++] = next[target];
+                }
+            }
+            landings[state] = landed.clone();
+        }
+    }
+
+    /**
+     * A Player lands on the space with the given chance: records the landing and the state they end up in
+     */
+    private void arrive(int space, double chance, double[] next, double[] landed, int chainedCards) {
+        landed[space] += chance;
+        if (space == Board.DESERTED_ISLAND) {
+            next[ISLAND + 2] += chance;
+        } else if (space == Board.SPACE_STATION) {
+            next[STATION] += chance;
+        } else if (Board.isGoldenKey(space) && chainedCards < MAX_CHAINED_CARDS) {
+            double perCard = chance / deck.size();
+            for (GoldenKeyEffect effect : deck.effects) {
+                int destination = effect.sendsTo(space);
+                if (destination == GoldenKeyEffect.NOWHERE)
+                    next[space] += perCard;
+                else
+                    arrive(destination, perCard, next, landed, chainedCards + 1);
+            }
+        } else {
+            next[space] += chance;
+        }
+    }
+
+    /**
+     * Power iteration from a Player on GO until the occupancy stops changing
+     */
+    private void iterate() {
+        double[] current = new double[STATES];
+        double[] next = new double[STATES];
+        current[Board.GO] = 1;
+        double change = 1;
+        while (change > TOLERANCE && iterations < MAX_ITERATIONS) {
+            Arrays.fill(next, 0);
+            for (int state = 0; state < STATES; state++) {
+                double share = current[state];
+                if (share == 0)
+                    continue;
+                int[] to = targets[state];
+                double[] chance = chances[state];
+                for (int i = 0; i < to.length; i++) {
+                    next[to[i]] += share * chance[i];
+                }
+            }
+            change = 0;
+            for (int state = 0; state < STATES; state++) {
+                change += Math.abs(next[state] - current[state]);
+            }
+            double[] swap = current;
+            current = next;
+            next = swap;
+            iterations++;
+        }
+        System.arraycopy(current, 0, occupancy, 0, STATES);
+        for (int state = 0; state < STATES; state++) {
+            for (int space = 0; space < Board.SIZE; space++) {
+                perRoll[space] += occupancy[state] * landings[state][space];
+            }
+        }
+        StringBuilder text = new StringBuilder(48);
+        for (int space = 0; space < Board.SIZE; space++) {
+            text.setLength(0);
+            MoneyFormat.appendPercent(text.append("Players land here on "), perRoll[space], 2);
+            oddsText[space] = text.append(" of rolls.").toString();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        GoldenKeyDeck deck = args.length > 0 ? GoldenKeyDeck.load(args[0]) : GoldenKeyDeck.standard();
+        long start = System.nanoTime();
+        LandingProbabilities solution = solve(deck);
+        double millis = (System.nanoTime() - start) / 1e6;
+        for (int space = 0; space < Board.SIZE; space++) {
+            System.out.printf("%2d %-18s %6.3f%%%n", space, Board.NAMES[space], 100 * solution.perRoll[space]);
+        }
+        System.out.printf("Solved in %d iterations, %.1f ms%n", solution.iterations, millis);
+    }
+}
@@ -0,0 +1,164 @@
+package sample;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+
+/**
+ * A non-blocking socket exchanging lines of ASCII text, with bounded buffers: lines longer than MAX_LINE are
+ * refused, and output the peer doesn't read beyond MAX_OUTPUT overflows the channel. The output buffer starts
+ * small and grows with what's pending, so idle channels cost a few hundred bytes.
+ * <p>
+ * A compressed channel deflates its output as one zlib stream, sync-flushed at every flush: the peer inflates
+ * each batch of lines as soon as it arrives, and the repetitive lines compress against everything sent before.
+ */
+final class LineChannel {
+    static final int MAX_LINE = 256;
+    static final int MAX_OUTPUT = 64 * 1024;
+    static final int EAGER_WRITE = 8 * 1024;  // pending output written right away, without waiting to be selected
+
+    final SocketChannel channel;
+    private final ByteBuffer in = ByteBuffer.allocate(MAX_LINE);
+    private ByteBuffer out = ByteBuffer.allocate(256);  // pending output, in write mode
+    private boolean overflowed;
+    private boolean sent;         // whether any line was queued yet
+    private Deflater deflater;    // NULL unless compressed
+    private ByteBuffer deflated;  // pending compressed output, in write mode
+
+    LineChannel(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Reads what the peer sent, line by line
+     *
+     * @param lines gets every whole line, without the line break
+     * @return FALSE if the peer closed the channel
+     * @throws IOException thrown if a line is too long, or the channel fails
+     */
+    boolean read(Consumer<String> lines) throws IOException {
+        int read = channel.read(in);
+        in.flip();
+        int start = 0;
+        for (int i = 0; i < in.limit(); i++) {
+            if (in.get(i) == '\n') {
+                int end = i > start && in.get(i - 1) == '\r' ? i - 1 : i;
+                lines.accept(new String(in.array(), start, end - start, StandardCharsets.US_ASCII));
+                start = i + 1;
+            }
+        }
+        in.position(start);
+        in.compact();
+        if (!in.hasRemaining())
+            throw new IOException("Line longer than " + MAX_LINE + " bytes");
+        return read >= 0;
+    }
+
+    /**
+     * Queues a line to send; writes the queue once it's EAGER_WRITE long
+     */
+    void send(String line) {
+        if (overflowed)
+            return;
+        sent = true;
+        int length = line.length() + 1;
+        if (out.remaining() < length) {
+            if (out.position() + length > MAX_OUTPUT) {
+                overflowed = true;
+                return;
+            }
+            out = grow(out, Math.max(out.capacity() * 2, out.position() + length));
+        }
+        for (int i = 0; i < line.length(); i++) {
+            out.put((byte) line.charAt(i));
+        }
+        out.put((byte) '\n');
+        if (out.position() >= EAGER_WRITE) {
+            try {
+                flush();
+            } catch (IOException e) {
+                overflowed = true;  // the channel is dead: dropped like a peer that doesn't read
+            }
+        }
+    }
+
+    /**
+     * Writes as much of the queue as the channel takes
+     *
+     * @return whether the whole queue was written
+     */
+    boolean flush() throws IOException {
+        if (deflater == null) {
+            out.flip();
+            channel.write(out);
+            out.compact();
+            return out.position() == 0;
+        }
+        if (out.position() > 0)
+            deflate();
+        deflated.flip();
+        channel.write(deflated);
+        deflated.compact();
+        return deflated.position() == 0;
+    }
+
+    /**
+     * Compresses the pending output into the pending compressed output, up to a sync flush
+     */
+    private void deflate() {
+        out.flip();
+        deflater.setInput(out);
+        while (true) {
+            deflater.deflate(deflated, Deflater.SYNC_FLUSH);
+            if (deflated.hasRemaining())
+                break;  // a SYNC_FLUSH is done once it leaves room in the output
+            if (deflated.capacity() >= MAX_OUTPUT) {
+                overflowed = true;
+                break;
+            }
+            deflated = grow(deflated, deflated.capacity() * 2);
+        }
+        out.clear();
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int capacity) {
+        buffer.flip();
+        return ByteBuffer.allocate(Math.min(capacity, MAX_OUTPUT)).put(buffer);
+    }
+
+    /**
+     * Compresses everything sent from now on
+     *
+     * @throws IllegalStateException thrown if lines were sent already: the peer couldn't tell where the
+     *                               compressed stream starts
+     */
+    void compress() {
+        if (sent)
+            throw new IllegalStateException("COMPRESS must come first");
+        deflater = new Deflater(Deflater.BEST_SPEED);
+        deflated = ByteBuffer.allocate(256);
+    }
+
+    boolean hasOutput() {
+        return out.position() > 0 || deflated != null && deflated.position() > 0;
+    }
+
+    /**
+     * Closes the channel, and frees the Deflater's native memory
+     */
+    void close() throws IOException {
+        if (deflater != null)
+            deflater.end();
+        channel.close();
+    }
+
+    /**
+     * @return whether output was lost because the peer didn't read it, or the channel failed
+     */
+    boolean isOverflowed() {
+        return overflowed;
+    }
+}
@@ -0,0 +1,173 @@
+package sample;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The sales that raise a given amount of money giving up the least rent. The bank pays the full price of
+ * whatever is sold, so the loss of a sale is the rent its Property no longer earns; among the sales that lose
+ * the same rent, the one that raises the least money keeps the most on the board.
+ * <p>
+ * Each Property is either kept, sold with its buildings, or kept with fewer buildings (0-2 of each type, a
+ * bounded knapsack), and exactly one of these is chosen per Property: a DP over the money raised, counted in
+ * steps of the GCD of every sale amount and capped at the amount needed, gives the optimal choices in
+ * O(# properties * # choices * amount / GCD).
+ */
+final class Liquidation {
+    static final int SOLD = -1;
+
+    final PropertyState[] properties;  // every Property of the debtor, in space order
+    final int[] configurations;        // configuration to keep at each Property; SOLD if it's sold
+    final long raised;                 // in thousands of dollars
+    final long lostRent;               // in thousands of dollars
+
+    private Liquidation(PropertyState[] properties, int[] configurations, long raised, long lostRent) {
+        this.properties = properties;
+        this.configurations = configurations;
+        this.raised = raised;
+        this.lostRent = lostRent;
+    }
+
+    /**
+     * @param amount money to raise, in thousands of dollars
+     * @return the sales raising at least the amount that give up the least rent; NULL if selling everything
+     * wouldn't raise it
+     */
+    static Liquidation plan(GameEngine game, PlayerState debtor, long amount) {
+        PropertyState[] properties = new PropertyState[debtor.propertyCount()];
+        int n = 0;
+        for (long owned = debtor.owned; owned != 0; owned &= owned - 1) {
+            properties[n++] = game.properties[Long.numberOfTrailingZeros(owned)];
+        }
+        if (amount <= 0)
+            return new Liquidation(properties, keepAll(properties), 0, 0);
+
+        // the choices at each Property: its configuration kept, or SOLD, with their money raised and rent lost
+        int[][] choices = new int[n][];
+        long[][] cash = new long[n][];
+        long[][] rent = new long[n][];
+        long step = 0;
+        long worth = 0;
+        for (int i = 0; i < n; i++) {
+            PropertyState property = properties[i];
+            int current = property.getConfiguration();
+            int[] kept = new int[PropertyState.CONFIGURATIONS + 1];
+            int count = 0;
+            kept[count++] = current;
+            kept[count++] = SOLD;
+            for (int configuration = 0; configuration <= current; configuration++) {
+                if (fewerBuildings(configuration, current))
+                    kept[count++] = configuration;
+            }
+            choices[i] = new int[count];
+            cash[i] = new long[count];
+            rent[i] = new long[count];
+            for (int j = 0; j < count; j++) {
+                int configuration = kept[j];
+                choices[i][j] = configuration;
+                cash[i][j] = property.price() - (configuration == SOLD ? 0 : property.priceWith(configuration));
+                rent[i][j] = property.rent() - (configuration == SOLD ? 0 : property.rentWith(configuration));
+                step = gcd(step, cash[i][j]);
+            }
+            worth += property.price();
+        }
+        if (worth < amount)
+            return null;
+
+        // loss[i][r]: least loss (rent lost, then money raised) of the first i Properties raising r steps or more
+        int needed = (int) ((amount + step - 1) / step);
+        long scale = worth + 1;  // rent lost outweighs any money raised
+        long[][] loss = new long[n + 1][needed + 1];
+        int[][] chosen = new int[n][needed + 1];
+        Arrays.fill(loss[0], 1, needed + 1, Long.MAX_VALUE);
+        for (int i = 0; i < n; i++) {
+            for (int r = 0; r <= needed; r++) {
+                long best = Long.MAX_VALUE;
+                for (int j = 0; j < choices[i].length; j++) {
+                    long before = loss[i][(int) Math.max(r - cash[i][j] / step, 0)];
+                    if (before == Long.MAX_VALUE)
+                        continue;
+                    long total = before + rent[i][j] * scale + cash[i][j];
+                    if (total < best) {
+                        best = total;
+                        chosen[i][r] = j;
+                    }
+                }
+                loss[i + 1][r] = best;
+            }
+        }
+
+        int[] configurations = new int[n];
+        long raised = 0;
+        long lostRent = 0;
+        for (int i = n - 1, r = needed; i >= 0; i--) {
+            int j = chosen[i][r];
+            configurations[i] = choices[i][j];
+            raised += cash[i][j];
+            lostRent += rent[i][j];
+            r = (int) Math.max(r - cash[i][j] / step, 0);
+        }
+        return new Liquidation(properties, configurations, raised, lostRent);
+    }
+
+    /**
+     * @return whether the configuration has no more buildings of any type than the current one, and fewer of one
+     */
+    private static boolean fewerBuildings(int configuration, int current) {
+        for (int type = 0; type < 3; type++) {
+            if (PropertyState.count(configuration, type) > PropertyState.count(current, type))
+                return false;
+        }
+        return configuration != current;
+    }
+
+    private static int[] keepAll(PropertyState[] properties) {
+        int[] configurations = new int[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            configurations[i] = properties[i].getConfiguration();
+        }
+        return configurations;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+    /**
+     * Makes the sales: buildings first, then Properties
+     */
+    void carryOut(GameEngine game, PlayerState debtor) {
+        for (int i = 0; i < properties.length; i++) {
+            if (configurations[i] != SOLD && configurations[i] != properties[i].getConfiguration())
+                game.build(debtor, properties[i], configurations[i]);
+        }
+        for (int i = 0; i < properties.length; i++) {
+            if (configurations[i] == SOLD)
+                game.sell(debtor, properties[i]);
+        }
+    }
+
+    /**
+     * @return one line per sale, e.g. "Sell Seoul: $2.000M"
+     */
+    List<String> describe() {
+        List<String> sales = new ArrayList<>();
+        for (int i = 0; i < properties.length; i++) {
+            PropertyState property = properties[i];
+            int configuration = configurations[i];
+            if (configuration == SOLD) {
+                sales.add("Sell " + property.name + ": " + MoneyFormat.format(property.price()));
+            } else if (configuration != property.getConfiguration()) {
+                sales.add("Sell buildings at " + property.name + ": " +
+                    MoneyFormat.format(property.price() - property.priceWith(configuration)));
+            }
+        }
+        return sales;
+    }
+}
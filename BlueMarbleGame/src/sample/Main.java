@@ -11,8 +11,10 @@ import javafx.scene.media.AudioClip;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 
@@ -38,11 +40,11 @@ public class Main extends Application {
         primaryStage.setScene(new Scene(root, 1280, 658));
         primaryStage.show();
 
-        AudioClip startup = new AudioClip(Paths.get("sounds/logo.wav").toUri().toString());
+        AudioClip startup = new AudioClip(Assets.mediaUrl("sounds/logo.wav"));
         startup.play(.5);
 
         // Installs board to the left of the application
-        Image board = new Image(new FileInputStream("bluemarbleboard.png"));
+        Image board = ImageCache.get("bluemarbleboard.png");
         ImageView boardIV = new ImageView(board);
         boardIV.setFitWidth(primaryStage.getScene().getHeight());
         boardIV.setFitHeight(primaryStage.getScene().getHeight());
@@ -96,8 +98,9 @@ public class Main extends Application {
 
         Button playButton = new Button("PLAY!");
         Button howToPlayButton = new Button("How to Play");
+        Button onlineButton = new Button("PLAY ONLINE");
 
-        VBox gameBox = new VBox(numPlayersComboBox, playButton);
+        VBox gameBox = new VBox(numPlayersComboBox, playButton, onlineButton);
         gameBox.setSpacing(25);
         gameBox.setAlignment(Pos.CENTER);
         BorderPane.setMargin(gameBox, new Insets(16));
@@ -108,6 +111,63 @@ public class Main extends Application {
         // create a GameManager object
         GameManager gameManager = new GameManager(gameBox, playerGridPane);
 
+        // When a game was left unfinished: RESUME it at the turn it was last saved
+        Path savedGame = Paths.get(GameSave.FILE_NAME);
+        if (Files.exists(savedGame)) {
+            Button resumeButton = new Button("RESUME");
+            resumeButton.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[3].play(.5));
+            resumeButton.setOnAction(actionEvent -> {
+                try {
+                    GameSave save = GameSave.read(savedGame, gameManager.goldenKeyDeck, gameManager);
+                    AudioClips.buttonAudioClips[0].play(.5);
+                    gameBox.getChildren().clear();
+                    gameManager.resumeGame(save);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    AudioClips.buttonAudioClips[6].play(.5);
+                    gameBox.getChildren().remove(resumeButton);
+                }
+            });
+            gameBox.getChildren().add(resumeButton);
+        }
+
+
+        // When PLAY ONLINE is clicked: join a table of a GameServer, or open one
+        onlineButton.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[3].play(.5));
+        onlineButton.setOnAction(actionEvent -> {
+            AudioClips.buttonAudioClips[0].play(.5);
+            TextField serverInput = new TextField("localhost:" + GameServer.DEFAULT_PORT);
+            TextField tableInput = new TextField();
+            tableInput.setPromptText("(empty to open a new table)");
+            TextField seatsInput = new TextField("REMOTE,REMOTE,greedy,cautious");
+            Label error = new Label();
+            error.setTextFill(Color.RED);
+            Button connectButton = new Button("CONNECT");
+            connectButton.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[3].play(.5));
+            connectButton.setOnAction(actionEvent1 -> {
+                String address = serverInput.getText().trim();
+                int colon = address.lastIndexOf(':');
+                String table = tableInput.getText().trim();
+                try {
+                    String host = colon < 0 ? address : address.substring(0, colon);
+                    int port = colon < 0 ? GameServer.DEFAULT_PORT : Integer.parseInt(address.substring(colon + 1));
+                    new RemoteGame(gameManager, host, port,
+                        table.isEmpty() ? "OPEN " + seatsInput.getText().trim() : "JOIN " + table);
+                    connectButton.setDisable(true);  // one connection: the RemoteGame owns the board now
+                    AudioClips.buttonAudioClips[0].play(.5);
+                } catch (IOException | NumberFormatException e) {
+                    error.setText("Can't connect to " + address + ": " + e.getMessage());
+                    AudioClips.buttonAudioClips[6].play(.5);
+                }
+            });
+            gameBox.getChildren().setAll(
+                new HBox(new Label("Server (host:port):  "), serverInput),
+                new HBox(new Label("Table # to join:  "), tableInput),
+                new HBox(new Label("Seats of a new table:  "), seatsInput),
+                new Label("(REMOTE seats are played by the terminals joining; others by Bots: " +
+                    String.join(", ", Bot.POLICIES).replace(", " + MonteCarloBot.NAME, "") + ")"),
+                connectButton, error);
+        });
 
         // When PLAY button is clicked: load Player setup UI
         playButton.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[3].play(.5));
@@ -134,13 +194,26 @@ public class Main extends Application {
 
                     planeColor.getChildren().addAll(chooseLabel, planeColorChoices);
 
+                    // HUMAN, or a Bot policy for demo and exhibition games
+                    final ComboBox<String> controllerChoices = new ComboBox<>();
+                    controllerChoices.getItems().add("HUMAN");
+                    controllerChoices.getItems().addAll(Bot.POLICIES);
+                    controllerChoices.setValue("HUMAN");
+                    controllerChoices.setOnHidden(event -> AudioClips.buttonAudioClips[1].play(.5));
+                    HBox controller = new HBox(new Label("Played by:  "), controllerChoices);
 
-                    playerSetup[i] = new VBox(nameInput, planeColor);
+                    playerSetup[i] = new VBox(nameInput, planeColor, controller);
                     playerSetup[i].setSpacing(15);
                     gameBox.getChildren().add(playerSetup[i]);
                 }
                 gameBox.setSpacing(30);
 
+                ComboBox<GameSpeed> speedChoices = new ComboBox<>();
+                speedChoices.getItems().addAll(GameSpeed.values());
+                speedChoices.setValue(GameSpeed.REAL_TIME);
+                speedChoices.setOnHidden(event -> AudioClips.buttonAudioClips[1].play(.5));
+                gameBox.getChildren().add(new HBox(new Label("Game speed:  "), speedChoices));
+
                 Button LetsPlayButton = new Button("LET'S PLAY!");
                 HashSet<String> colors = new HashSet<>();
                 LetsPlayButton.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[3].play(.5));
@@ -163,32 +236,15 @@ public class Main extends Application {
                         }
                         AudioClips.buttonAudioClips[0].play(.5);
                         try {
-                            switch (colorChoice) {
-                                case "RED":
-                                    player.setPlane(new ImageView(new Image(
-                                        new FileInputStream("img_planes/red.png"))));
-                                    player.setPlayerColor(Color.RED);
-                                    break;
-                                case "BLUE":
-                                    player.setPlane(new ImageView(new Image(
-                                        new FileInputStream("img_planes/blue.png"))));
-                                    player.setPlayerColor(Color.DODGERBLUE);
-                                    break;
-                                case "YELLOW":
-                                    player.setPlane(new ImageView(new Image(
-                                        new FileInputStream("img_planes/yellow.png"))));
-                                    player.setPlayerColor(Color.GOLDENROD);
-                                    break;
-                                case "WHITE":
-                                    player.setPlane(new ImageView(new Image(
-                                        new FileInputStream("img_planes/white.png"))));
-                                    player.setPlayerColor(Color.BLACK);
-                                    break;
-                            }
+                            player.setPlaneColor(colorChoice);
                         } catch (FileNotFoundException e) {
                             e.printStackTrace();
                         }
+                        String controller = ((ComboBox<String>)
+                            ((HBox) playerSetup[i].getChildren().get(2)).getChildren().get(1)).getValue();
+                        player.setController(controller);
                     }
+                    gameManager.speed = speedChoices.getValue();
                     gameBox.getChildren().clear();
                     try {
                         gameManager.beginGame();
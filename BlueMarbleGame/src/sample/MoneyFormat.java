@@ -1,16 +1,76 @@
 package sample;
 
 /**
- * Just a utility class containing a method that formats a Player's money amount into "$#.##M"
+ * Just a utility class containing a method that formats a Player's money amount into "$#.###M", and one for
+ * chances as percentages.
+ * Amounts are written digit by digit into a StringBuilder, without String.format; the strings of round
+ * amounts up to CACHE_LIMIT (every price, rent, fee and the salary) are kept once they're made.
  */
 public class MoneyFormat {
-    public static String format(double amount) {
-        if (amount <= -1.000)
-            return String.format("-$%.3fM", -amount);
-        else if (amount < 0)
-            return String.format("-$%.0fK", -amount * 1000);
-        else if (amount < 1.000)
-            return String.format("$%.0fK", amount * 1000);
-        return String.format("$%.3fM", amount);
+    static final long CACHE_LIMIT = 100 * Board.MILLION;
+    static final long CACHE_STEP = 10;  // every amount on the board is a multiple of $10K
+
+    private static final String[] cache = new String[(int) (CACHE_LIMIT / CACHE_STEP) + 1];
+
+    /**
+     * @param amount amount in thousands of dollars
+     * @return "$#.###M" from $1.000M, "$#K" below, with a leading '-' if negative
+     */
+    public static String format(long amount) {
+        if (amount < 0 || amount > CACHE_LIMIT || amount % CACHE_STEP != 0)
+            return appendTo(new StringBuilder(16), amount).toString();
+        // Strings are immutable, so racing threads at worst format the same amount twice
+        int slot = (int) (amount / CACHE_STEP);
+        String formatted = cache[slot];
+        if (formatted == null) {
+            formatted = appendTo(new StringBuilder(16), amount).toString();
+            cache[slot] = formatted;
+        }
+        return formatted;
+    }
+
+    /**
+     * Appends the formatted amount without creating any object
+     *
+     * @param out    where to write
+     * @param amount amount in thousands of dollars
+     * @return out
+     */
+    static StringBuilder appendTo(StringBuilder out, long amount) {
+        if (amount < 0) {
+            out.append('-');
+            amount = -amount;
+        }
+        out.append('$');
+        if (amount < Board.MILLION)
+            return out.append(amount).append('K');
+        long thousands = amount % Board.MILLION;
+        out.append(amount / Board.MILLION).append('.');
+        if (thousands < 100)
+            out.append('0');
+        if (thousands < 10)
+            out.append('0');
+        return out.append(thousands).append('M');
+    }
+
+    /**
+     * Appends a chance as a percentage rounded to the given decimals, e.g. "12.5%", without String.format
+     *
+     * @param out      where to write
+     * @param chance   chance in [0,1]
+     * @param decimals digits after the point, at least 1
+     * @return out
+     */
+    static StringBuilder appendPercent(StringBuilder out, double chance, int decimals) {
+        long unit = 1;
+        for (int i = 0; i < decimals; i++) {
+            unit *= 10;
+        }
+        long scaled = Math.round(chance * 100 * unit);
+        out.append(scaled / unit).append('.');
+        for (long digit = unit / 10; digit > 1 && scaled % unit < digit; digit /= 10) {
+            out.append('0');
+        }
+        return out.append(scaled % unit).append('%');
     }
-}
\ No newline at end of file
+}
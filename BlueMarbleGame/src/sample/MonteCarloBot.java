@@ -0,0 +1,403 @@
+package sample;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A computer player that decides by flat Monte Carlo search: the possible answers to a question are the arms
+ * of a UCB1 bandit, and each pick plays a copy of the game on with that answer and then greedy Bots for
+ * everyone, up to ROLLOUT_TURNS turns ahead. Nothing below the question is expanded or kept: every later
+ * decision of a rollout is the greedy Bot's. The answer played most often wins.
+ * <p>
+ * It searches for a time budget per decision, or for a fixed number of rollouts per decision. The search is
+ * parallel: tasks on a work-stealing ForkJoinPool, each with its own statistics and random numbers, merged
+ * once they're done. A timed search runs one task per core, so more cores play more rollouts in the same time;
+ * a search by rollouts always splits into SEARCH_TASKS tasks, so it decides the same on any machine.
+ * <p>
+ * The random numbers of a search come from the state of the game's dice, without drawing from them, and
+ * rollouts reseed the dice and reshuffle the Golden Key deck of their copy from those, so the search doesn't
+ * know what the game's seed will roll. A search by rollouts thus decides the same every time the game is
+ * played from its seed; a timed one depends on how many rollouts fit in the time.
+ * <p>
+ * A question is asked in a copy by playing the copy's current phase again: no state changes before a ROLL or
+ * DECIDE question, so the copy asks it again and gets the answer being tried. Raising funds is asked in the
+ * middle of a payment instead: its rollouts sell the property being tried first, if any, then make the
+ * Liquidation of the rest of the debt, pay it and end the turn.
+ * <p>
+ * It's a Bot, playing greedy when there's nothing to search, so that it takes seats wherever Bots do.
+ */
+final class MonteCarloBot extends Bot {
+    static final String NAME = "mcts";
+    static final long DEFAULT_BUDGET_MILLIS = 150;  // per decision; well within a frame budget of 200 ms
+    static final int SEARCH_TASKS = 8;  // tasks of a search by rollouts, whatever the number of cores
+    static final int ROLLOUT_TURNS = 100;
+    static final double EXPLORATION = 0.5;  // UCB1 constant, for rollout values in [0,1]
+    private static final int LIQUIDATION = -1;  // answer when raising funds: no sale before the Liquidation
+
+    private final Bot rollout = new Bot("greedy", 0, 2);  // plays every seat but plain Bots' in the rollouts
+    private final long budget;   // in nanoseconds; 0 when searching by rollouts
+    private final int rollouts;  // per decision; 0 when searching for the time budget
+    private final int workers;   // search tasks
+
+    /**
+     * @param name         name of this policy, shown in simulation results and saved games
+     * @param budgetMillis time allowed for each decision, in milliseconds; 0 to search by rollouts
+     * @param rollouts     rollouts played for each decision; 0 to search for the time budget
+     * @throws IllegalArgumentException thrown unless exactly one of the budget and the rollouts is positive
+     */
+    MonteCarloBot(String name, long budgetMillis, int rollouts) {
+        super(name, 0, 2);
+        if (budgetMillis < 0 || rollouts < 0 || (budgetMillis > 0) == (rollouts > 0))
+            throw new IllegalArgumentException("Either a time budget or rollouts: " + budgetMillis + ", " + rollouts);
+        budget = budgetMillis * 1_000_000;
+        this.rollouts = rollouts;
+        workers = rollouts > 0 ? SEARCH_TASKS : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Plays a copy of the game on from a question with the answer being tried
+     */
+    private interface Move {
+        void play(GameEngine copy, PlayerState player, int answer);
+    }
+
+    /**
+     * Asks the question again in a copy of the game: its current phase is played again, with the answer
+     * being tried to its first question
+     */
+    private final Move askAgain = (copy, player, answer) -> player.decisions = new Answer(rollout, answer);
+
+    @Override
+    public boolean purchase(GameEngine game, PlayerState player, PropertyState property) {
+        if (player.money < property.price())
+            return false;
+        return decide(game, player, super.purchase(game, player, property));
+    }
+
+    /**
+     * Tries keeping the buildings and every configuration affordable
+     */
+    @Override
+    public int build(GameEngine game, PlayerState player, PropertyState property) {
+        int usual = super.build(game, player, property);
+        int[] answers = new int[PropertyState.CONFIGURATIONS + 1];
+        int count = 0;
+        answers[count++] = usual;
+        if (usual != KEEP_BUILDINGS)
+            answers[count++] = KEEP_BUILDINGS;
+        int current = property.getConfiguration();
+        for (int configuration = 0; configuration < PropertyState.CONFIGURATIONS; configuration++) {
+            if (configuration != current && configuration != usual &&
+                property.priceWith(configuration) - property.price() <= player.money)
+                answers[count++] = configuration;
+        }
+        return search(game, player, answers, count, askAgain);
+    }
+
+    @Override
+    public boolean useComplimentaryTicket(GameEngine game, PlayerState player, PropertyState property) {
+        return decide(game, player, super.useComplimentaryTicket(game, player, property));
+    }
+
+    @Override
+    public boolean enterSpaceStation(GameEngine game, PlayerState player) {
+        if (player.money < Board.SPACE_STATION_FEE)
+            return false;
+        return decide(game, player, super.enterSpaceStation(game, player));
+    }
+
+    /**
+     * Tries every space
+     */
+    @Override
+    public int spaceStationDestination(GameEngine game, PlayerState player) {
+        int usual = super.spaceStationDestination(game, player);
+        int[] answers = new int[Board.SIZE - 1];
+        int count = 0;
+        answers[count++] = usual;
+        for (int space = 0; space < Board.SIZE; space++) {
+            if (space != usual && space != Board.SPACE_STATION)
+                answers[count++] = space;
+        }
+        return search(game, player, answers, count, askAgain);
+    }
+
+    @Override
+    public boolean useEscapeDesertedIsland(GameEngine game, PlayerState player) {
+        return decide(game, player, super.useEscapeDesertedIsland(game, player));
+    }
+
+    /**
+     * Searches which property to sell first, if any, then makes the Liquidation of the rest of the debt
+     */
+    @Override
+    public boolean raiseFunds(GameEngine game, PlayerState debtor, PlayerState creditor, long debt) {
+        long owed = debtor.money - debt;
+        long worth = debtor.money;
+        int[] answers = new int[debtor.propertyCount() + 1];
+        int count = 0;
+        answers[count++] = LIQUIDATION;
+        for (long owned = debtor.owned; owned != 0; owned &= owned - 1) {
+            int space = Long.numberOfTrailingZeros(owned);
+            worth += game.properties[space].price();
+            answers[count++] = space;
+        }
+        if (count > 1 && worth >= owed) {
+            Move sale = (copy, player, space) -> {
+                if (space != LIQUIDATION)
+                    copy.sell(player, copy.properties[space]);
+                // the cause only matters to listeners, and copies have none
+                copy.settle(player, creditor == null ? null : copy.seats[creditor.id], owed, BankruptcyCause.RENT);
+                copy.phase = TurnPhase.END_TURN;
+            };
+            int first = search(game, debtor, answers, count, sale);
+            if (first != LIQUIDATION)
+                game.sell(debtor, game.properties[first]);
+        }
+        return super.raiseFunds(game, debtor, creditor, debtor.money - owed);
+    }
+
+    private boolean decide(GameEngine game, PlayerState player, boolean usual) {
+        int answer = usual ? 1 : 0;
+        return search(game, player, new int[]{answer, 1 - answer}, 2, askAgain) != 0;
+    }
+
+    /**
+     * @param answers the answers to try, the greedy Bot's first
+     * @param count   # of answers
+     * @return the answer played most often, the first if the time was up before any rollout
+     */
+    private int search(GameEngine game, PlayerState player, int[] answers, int count, Move move) {
+        if (count == 1)
+            return answers[0];
+        long deadline = System.nanoTime() + budget;
+        // the log tells apart questions asked between the same two draws of the dice
+        SplittableRandom random = new SplittableRandom(game.random.state() ^ game.log.size() * 0xbf58476d1ce4e5b9L);
+        SearchTask task = new SearchTask(game, player.id, answers, count, move, deadline, rollouts, workers,
+            random);
+        Statistics statistics = ForkJoinTask.inForkJoinPool() ? task.invoke() : ForkJoinPool.commonPool().invoke(task);
+        return answers[statistics.best()];
+    }
+
+    /**
+     * Splits the search into one task per worker, like the Simulator splits games. Each task runs its own
+     * UCB1 over the answers until the deadline, or for its share of the rollouts; the statistics of all tasks
+     * are then merged.
+     */
+    private final class SearchTask extends RecursiveTask<Statistics> {
+        private final GameEngine game;
+        private final int player;
+        private final int[] answers;
+        private final int count;
+        private final Move move;
+        private final long deadline;
+        private final int rollouts;  // 0 to play until the deadline
+        private final int workers;
+        private final SplittableRandom random;
+
+        SearchTask(GameEngine game, int player, int[] answers, int count, Move move, long deadline, int rollouts,
+                   int workers, SplittableRandom random) {
+            this.game = game;
+            this.player = player;
+            this.answers = answers;
+            this.count = count;
+            this.move = move;
+            this.deadline = deadline;
+            this.rollouts = rollouts;
+            this.workers = workers;
+            this.random = random;
+        }
+
+        @Override
+        protected Statistics compute() {
+            if (workers > 1) {
+                int half = workers / 2;
+                int leftRollouts = (int) ((long) rollouts * half / workers);
+                SearchTask left = new SearchTask(game, player, answers, count, move, deadline, leftRollouts, half,
+                    random.split());
+                SearchTask right = new SearchTask(game, player, answers, count, move, deadline,
+                    rollouts - leftRollouts, workers - half, random);
+                left.fork();
+                return right.compute().merge(left.join());
+            }
+            Statistics statistics = new Statistics(count);
+            while (rollouts > 0 ? statistics.total < rollouts : System.nanoTime() < deadline) {
+                int i = statistics.select();
+                statistics.record(i, play(i));
+            }
+            return statistics;
+        }
+
+        private double play(int i) {
+            GameEngine copy = rolloutCopy(game, rollout, random);
+            PlayerState me = copy.seats[player];
+            move.play(copy, me, answers[i]);
+            for (int turns = 0; turns < ROLLOUT_TURNS && !copy.isOver(); turns++) {
+                copy.playTurn();
+            }
+            return value(copy, me);
+        }
+    }
+
+    /**
+     * @param policy plays every seat but plain Bots' in the copy
+     * @return a copy of the game to play a rollout on, with its own dice and Golden Key deck order; it keeps no
+     * DecisionLog
+     */
+    static GameEngine rolloutCopy(GameEngine game, Bot policy, SplittableRandom random) {
+        GameEngine copy = new GameEngine(game, null, DecisionLog.DISCARD);
+        copy.random.setState(random.nextLong());
+        int[] deck = copy.goldenKeys;
+        for (int j = deck.length - 1; j > 0; j--) {
+            int k = random.nextInt(j + 1);
+            int card = deck[j];
+            deck[j] = deck[k];
+            deck[k] = card;
+        }
+        for (PlayerState seat : copy.seats) {
+            if (seat.decisions == null || seat.decisions.getClass() != Bot.class) {
+                seat.decisions = policy;
+                seat.debtHandler = policy;
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * @return value of a rollout for the player: 1 if they won, 0 if they went bankrupt, their share of the
+     * remaining players' worth if the game is still on
+     */
+    static double value(GameEngine game, PlayerState player) {
+        if (!game.players.contains(player))
+            return 0;
+        if (game.isOver())
+            return 1;
+        long total = 0;
+        for (PlayerState opponent : game.players) {
+            total += opponent.money + opponent.assets;
+        }
+        return total > 0 ? (double) (player.money + player.assets) / total : 1.0 / game.players.size();
+    }
+
+    /**
+     * Rollouts and total value of every answer
+     */
+    private static final class Statistics {
+        final int[] visits;
+        final double[] values;
+        int total;
+
+        Statistics(int count) {
+            visits = new int[count];
+            values = new double[count];
+        }
+
+        /**
+         * @return an answer never tried yet, or the one with the highest UCB1
+         */
+        int select() {
+            int best = 0;
+            double bestBound = Double.NEGATIVE_INFINITY;
+            double log = Math.log(total);
+            for (int i = 0; i < visits.length; i++) {
+                if (visits[i] == 0)
+                    return i;
+                double bound = values[i] / visits[i] + EXPLORATION * Math.sqrt(log / visits[i]);
+                if (bound > bestBound) {
+                    best = i;
+                    bestBound = bound;
+                }
+            }
+            return best;
+        }
+
+        void record(int i, double value) {
+            visits[i]++;
+            values[i] += value;
+            total++;
+        }
+
+        Statistics merge(Statistics other) {
+            for (int i = 0; i < visits.length; i++) {
+                visits[i] += other.visits[i];
+                values[i] += other.values[i];
+            }
+            total += other.total;
+            return this;
+        }
+
+        /**
+         * @return the answer tried most often; the first on ties
+         */
+        int best() {
+            int best = 0;
+            for (int i = 1; i < visits.length; i++) {
+                if (visits[i] > visits[best])
+                    best = i;
+            }
+            return best;
+        }
+    }
+
+    /**
+     * The answer being tried to the question asked again, then the greedy Bot's answers
+     */
+    private static final class Answer implements Decisions {
+        private final Bot rollout;
+        private final int answer;
+        private boolean answered;
+
+        Answer(Bot rollout, int answer) {
+            this.rollout = rollout;
+            this.answer = answer;
+        }
+
+        private int next(int usual) {
+            if (answered)
+                return usual;
+            answered = true;
+            return answer;
+        }
+
+        private boolean next(boolean usual) {
+            return next(usual ? 1 : 0) != 0;
+        }
+
+        @Override
+        public boolean purchase(GameEngine game, PlayerState player, PropertyState property) {
+            return next(rollout.purchase(game, player, property));
+        }
+
+        @Override
+        public int build(GameEngine game, PlayerState player, PropertyState property) {
+            return next(rollout.build(game, player, property));
+        }
+
+        @Override
+        public boolean useComplimentaryTicket(GameEngine game, PlayerState player, PropertyState property) {
+            return next(rollout.useComplimentaryTicket(game, player, property));
+        }
+
+        @Override
+        public boolean enterSpaceStation(GameEngine game, PlayerState player) {
+            return next(rollout.enterSpaceStation(game, player));
+        }
+
+        @Override
+        public int spaceStationDestination(GameEngine game, PlayerState player) {
+            return next(rollout.spaceStationDestination(game, player));
+        }
+
+        @Override
+        public boolean useEscapeDesertedIsland(GameEngine game, PlayerState player) {
+            return next(rollout.useEscapeDesertedIsland(game, player));
+        }
+
+        @Override
+        public boolean raiseFunds(GameEngine game, PlayerState debtor, PlayerState creditor, long debt) {
+            return rollout.raiseFunds(game, debtor, creditor, debt);
+        }
+    }
+}
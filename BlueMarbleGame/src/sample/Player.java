@@ -16,25 +16,23 @@ import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
+import java.io.FileNotFoundException;
 import java.util.*;
 
 /**
- * Player class represents a player of the board game who has money, list of properties
+ * Player class is the view of a player of the board game: their plane, money label and list of properties.
+ * Their money, location and properties live in a PlayerState driven by the GameEngine.
  */
-class Player {
-    private String name;
+class Player implements DebtHandler {
+    final PlayerState state;
+    GameEngine engine;  // assigned when the game begins
     private ImageView plane;
     private Color playerColor;
-    private double money;
+    private String planeColor;  // "RED", "BLUE", "YELLOW" or "WHITE"
     private Label moneyText;
-    private int space;
-    private ArrayList<Property> properties;
+    private int planeSpace;  // space the plane is drawn at; trails state.space while moving
     private ComboBox<Property> propertiesComboBox;
-
-    private int turnsLeftOnDesertedIsland;
-    private int complimentaryTickets;
-    private boolean escapeDesertedIsland;
-    private boolean spaceStation;   // on GridPane Col 9, Row 3
+    private final ProgressBar winBar = new ProgressBar(ProgressBar.INDETERMINATE_PROGRESS);  // chance to win
 
     final Timeline moveAnimation = new Timeline();
 
@@ -50,17 +48,28 @@ class Player {
      * @param playerNum Player 1, 2, 3, or 4
      */
     public Player(int playerNum) {
-        this.name = "Player " + playerNum;
+        this(new PlayerState(playerNum - 1, "Player " + playerNum));
+    }
+
+    /**
+     * View of a player already in a game, e.g. of a saved game
+     *
+     * @param state the player's game-rule state
+     */
+    Player(PlayerState state) {
+        this.state = state;
+        if (state.decisions == null)
+            state.debtHandler = this;
         this.plane = null;
-        money = 30.00;
-        moneyText = new Label(MoneyFormat.format(money));
+        moneyText = new Label(MoneyFormat.format(state.money));
         moneyText.setFont(new Font("Arial Black", 16));
-        moneyText.setTextFill(Color.FORESTGREEN);
         moneyText.setPrefWidth(100);
-        space = 0;
-        properties = new ArrayList<>(29);
+        refreshMoney();
+        planeSpace = state.space;
         propertiesComboBox = new ComboBox<>();
         propertiesComboBox.setPromptText("(Properties list)");
+        winBar.setPrefWidth(100);
+        winBar.setTooltip(new Tooltip("Chance to win: estimating..."));
 
         spaceToGrid[0] = new int[]{13, 13};
         spaceToGrid[10] = new int[]{1, 13};
@@ -75,33 +84,24 @@ class Player {
     }
 
     /**
-     * Moves this Player by the specified number of spaces
+     * Animates this Player's plane by the specified number of spaces; the GameEngine has already moved
+     * the Player itself.
      *
-     * @param delta     number of spaces to move; if traveling via Space Station, the space index [0,39] of
-     *                  the Player's destination
-     * @param gotDouble whether a double was rolled or not
-     * @return the new space index of Player (how many spaces from GO) (*** returned as soon as
-     * the moving animation is called ***)
-     * @throws DesertedIslandException thrown if Player is stuck in Deserted Island
+     * @param delta number of spaces to move; negative only from "Moving Day" Golden Key cards
      */
-    public int move(int delta, boolean gotDouble) {
-        if (gotDouble)
-            turnsLeftOnDesertedIsland = 0;
-        if (turnsLeftOnDesertedIsland > 0) {
-            turnsLeftOnDesertedIsland--;
-            throw new DesertedIslandException("SOS");
-        }
+    public void animateMove(int delta) {
+        if (!Board.isGoldenKey(state.space))
+            PropertyCards.get(state.space);  // loads the destination's card while the plane flies
         moveAnimation.setCycleCount(Math.abs(delta));
         if (delta > 0) {
             moveAnimation.getKeyFrames().setAll(new KeyFrame(
                 Duration.millis(200),
                 actionEvent -> {
-                    if (++space == 40) {
-                        space = 0;
+                    if (++planeSpace == 40) {
+                        planeSpace = 0;
                         AudioClips.payday.play();
-                        changeMoney(2.00);
                     }
-                    GridPane.setConstraints(plane, spaceToGrid[space][0], spaceToGrid[space][1]);
+                    GridPane.setConstraints(plane, spaceToGrid[planeSpace][0], spaceToGrid[planeSpace][1]);
                 }
             ));
         } else {
@@ -109,71 +109,52 @@ class Player {
             moveAnimation.getKeyFrames().setAll(new KeyFrame(
                 Duration.millis(200),
                 actionEvent -> {
-                    if (--space == -1) {
-                        space = 39;
+                    if (--planeSpace == -1) {
+                        planeSpace = 39;
                     }
-                    GridPane.setConstraints(plane, spaceToGrid[space][0], spaceToGrid[space][1]);
+                    GridPane.setConstraints(plane, spaceToGrid[planeSpace][0], spaceToGrid[planeSpace][1]);
                 }
             ));
         }
         moveAnimation.playFromStart();
-
-        return (space + delta) % 40;
     }
 
     /**
-     * Moves this Player to the specified space index
-     *
-     * @param destination      space index of destination
-     * @param fromSpaceStation whether this Player is moving from Space Station or not
+     * Puts the plane right where the Player is, without animation (Deserted Island, Space Station)
      */
-    public void directlyMove(int destination, boolean fromSpaceStation) {
-        if (destination < space) {
-            destination += 40;
-        }
-        moveAnimation.setRate(4.5);
-        move(destination - space, false);
-        if (fromSpaceStation) {
-            spaceStation = false;
-        }
-
-        GameManager.popup.setOnHidden(windowEvent -> {
-        });
-    }
-
-    public void landOnDesertedIsland() {
-        space = 10;
-        GridPane.setConstraints(plane, spaceToGrid[10][0], spaceToGrid[10][1]);
-        this.turnsLeftOnDesertedIsland = 3;
-    }
-
-    public void useEscapeDesertedIsland() {
-        escapeDesertedIsland = false;
-        turnsLeftOnDesertedIsland = 0;
-    }
-
-    public void enterSpaceStation() {
-        this.spaceStation = true;
+    public void placePlane() {
+        planeSpace = state.space;
+        if (state.spaceStation)
+            GridPane.setConstraints(plane, 10, 4);
+        else
+            GridPane.setConstraints(plane, spaceToGrid[planeSpace][0], spaceToGrid[planeSpace][1]);
     }
 
     /**
-     * Changes Player's money amount
-     *
-     * @param amount amount changed
-     * @throws NotEnoughMoneyException thrown if Player attempts to pay more than their current balance
+     * Redraws the money label after the Player's money changed
      */
-    public void changeMoney(double amount) {
-        if (amount < 0 && money < -amount)
-            throw new NotEnoughMoneyException();
-        money += amount;
-        moneyText.setText(MoneyFormat.format(money));
-        if (money < 6.00)
+    public void refreshMoney() {
+        moneyText.setText(MoneyFormat.format(state.money));
+        if (state.money < 6 * Board.MILLION)
             moneyText.setTextFill(Color.CRIMSON);
         else {
             moneyText.setTextFill(Color.FORESTGREEN);
         }
     }
 
+    /**
+     * Refills the properties list after the Player's properties changed
+     *
+     * @param spaceToProperty the Property views by space index
+     */
+    public void refreshProperties(Property[] spaceToProperty) {
+        List<Property> owned = new ArrayList<>(state.propertyCount());
+        for (long mask = state.owned; mask != 0; mask &= mask - 1) {
+            owned.add(spaceToProperty[Long.numberOfTrailingZeros(mask)]);
+        }
+        propertiesComboBox.getItems().setAll(owned);
+    }
+
     /**
      * Player purchases a property if they can afford it.
      *
@@ -181,18 +162,12 @@ class Player {
      */
     public void purchase(Property property) {
         try {
-            changeMoney(-property.price);
-            properties.add(property);
-            propertiesComboBox.getItems().add(property);
-            property.ownerRectangle.setFill(playerColor);
-            Collections.sort(properties);
-            Collections.sort(propertiesComboBox.getItems());
-            property.owner = this;
+            engine.purchase(state, property.state);
             AudioClips.purchase.play(.5);
         } catch (NotEnoughMoneyException e) {
             Alert alert = new Alert(Alert.AlertType.ERROR);
             alert.setTitle("You don't have enough money!");
-            alert.setHeaderText(name + ", you can't afford this property!");
+            alert.setHeaderText(state.name + ", you can't afford this property!");
             alert.setContentText("Try again when you do have enough money.");
             AudioClips.buttonAudioClips[6].play(.5);
             alert.showAndWait();
@@ -210,18 +185,12 @@ class Player {
      */
     public boolean build(RegularProperty property, int[] buildMatrix) {
         try {
-            double finalPrice = property.getPrices()[0] +
-                property.getPrices()[1] * buildMatrix[0] +
-                property.getPrices()[2] * buildMatrix[1] +
-                property.getPrices()[3] * buildMatrix[2];
-            changeMoney(property.price - finalPrice);
-            property.construct(buildMatrix);
+            engine.build(state, property.state, buildMatrix);
             AudioClips.purchase.play(.5);
-            propertiesComboBox.getItems().set(propertiesComboBox.getItems().indexOf(property), property);
         } catch (NotEnoughMoneyException e) {
             Alert alert = new Alert(Alert.AlertType.ERROR);
             alert.setTitle("You don't have enough money!");
-            alert.setHeaderText(name + ", you can't afford to construct these buildings at this property!");
+            alert.setHeaderText(state.name + ", you can't afford to construct these buildings at this property!");
             alert.setContentText("Try again when you do have enough money.");
             AudioClips.buttonAudioClips[6].play(.5);
             alert.showAndWait();
@@ -232,71 +201,35 @@ class Player {
     }
 
     /**
-     * Player pays another by the specified amount
-     *
-     * @param other  An opponent to whom this Player pays
-     * @param amount The amount paid
+     * The GameEngine asks this Player to sell properties when they can't pay their bills
      */
-    public void payOther(Player other, double amount) throws BankruptcyException {
-        try {
-            changeMoney(-amount);
-            AudioClips.buttonAudioClips[0].play(.5);
-            if (other != null) {
-                other.changeMoney(amount);
-            }
-        } catch (NotEnoughMoneyException e) {
-            AudioClips.buttonAudioClips[6].play(.5);
-            if (openDebtWindow(other, money - amount) < 0) {
-                throw new BankruptcyException(other);
-            } else {
-                payOther(other, amount);
-            }
-        }
-    }
-
-    /**
-     * Sells property to banker
-     *
-     * @param sold     Property being sold
-     */
-    public void sell(Property sold) {
-        if (sold == null)
-            return;
-        sold.owner = null;
-        changeMoney(sold.price);
-        properties.remove(sold);
-        propertiesComboBox.getItems().remove(sold);
-
-        if (sold instanceof RegularProperty)
-            ((RegularProperty) sold).deconstruct();
-        sold.ownerRectangle.setFill(Color.TRANSPARENT);
-
-        Collections.sort(properties);
-        Collections.sort(propertiesComboBox.getItems());
+    @Override
+    public boolean raiseFunds(GameEngine game, PlayerState debtor, PlayerState creditor, long debt) {
+        AudioClips.buttonAudioClips[6].play(.5);
+        return openDebtWindow(creditor, debt) >= 0;
     }
 
-
     /**
      * Sets up and shows the window where the Player can handle their debt to another
      *
-     * @param other the Player to whom the debtor (this Player) owes money
-     * @param debt  the amount of debt this Player owes (expressed as -$#.##M)
+     * @param other the Player to whom the debtor (this Player) owes money; NULL if owed to the Banker
+     * @param debt  the amount this Player is short, in thousands of dollars (negative)
      * @return the amount the Player has
      */
-    public double openDebtWindow(Player other, double debt) {
+    public long openDebtWindow(PlayerState other, long debt) {
         Alert alert = new Alert(Alert.AlertType.WARNING);
         alert.setTitle("You are on debt!");
-        alert.setHeaderText(name + ", you can't pay your bills to " +
-            (other == null ? "BANKER" : other.getName()) + "!");
+        alert.setHeaderText(state.name + ", you can't pay your bills to " +
+            (other == null ? "BANKER" : other.name) + "!");
         alert.setContentText("You are " + MoneyFormat.format(-debt) + " short!" +
             "\nYou must sell some of your properties to the bank!");
         alert.showAndWait();
 
-        final double[] debtArray = {debt};
+        final long[] debtArray = {debt};
         Stage debtWindow = new Stage();
         BorderPane pane = new BorderPane();
         Label promptLabel = new Label("You must pay off your debt to " +
-            (other == null ? "BANKER" : other.getName()) + "\nbefore closing this window.");
+            (other == null ? "BANKER" : other.name) + "\nbefore closing this window.");
         Label warningLabel = new Label("If you close this window without paying all your debt, \nYOU ARE " +
             "DECLARING BANKRUPTCY.");
         warningLabel.setFont(new Font("Arial Black", 14));
@@ -311,7 +244,52 @@ class Player {
 
         Label yourPropertiesLabel = new Label("Select a property to sell to the bank.");
         ListView<Property> properties = new ListView<>();
-        properties.getItems().addAll(this.properties);
+        properties.getItems().addAll(propertiesComboBox.getItems());
+
+        Runnable showDebt = () -> {
+            debtText.setText("YOU WILL HAVE: " + MoneyFormat.format(debtArray[0]) + " LEFT");
+            if (debtArray[0] >= 0) {
+                debtText.setTextFill(Color.MEDIUMTURQUOISE);
+                warningLabel.setText("Your debts have been covered.\nYou may safely close this window.");
+                warningLabel.setTextFill(Color.FORESTGREEN);
+            }
+        };
+
+        // the sales covering the debt that give up the least rent, made in one click
+        Liquidation[] suggestion = new Liquidation[1];
+        Label suggestionLabel = new Label();
+        Button suggestionButton = new Button("SELL SUGGESTED");
+        Runnable suggest = () -> {
+            suggestion[0] = debtArray[0] < 0 ? Liquidation.plan(engine, state, -debtArray[0]) : null;
+            suggestionButton.setVisible(suggestion[0] != null);
+            if (suggestion[0] != null) {
+                suggestionLabel.setText("Suggested sales (you give up " +
+                    MoneyFormat.format(suggestion[0].lostRent) + " of rent):\n" +
+                    String.join("\n", suggestion[0].describe()));
+            } else {
+                suggestionLabel.setText(debtArray[0] < 0 ? "Selling everything won't cover your debt." : "");
+            }
+        };
+        suggest.run();
+        suggestionButton.setOnAction(actionEvent -> {
+            Liquidation liquidation = suggestion[0];
+            long originalMoney = state.money;
+            liquidation.carryOut(engine, state);
+            debtArray[0] += state.money - originalMoney;
+            for (int i = 0; i < liquidation.properties.length; i++) {
+                for (Property view : properties.getItems()) {
+                    if (view.state == liquidation.properties[i]) {
+                        if (liquidation.configurations[i] == Liquidation.SOLD)
+                            properties.getItems().remove(view);
+                        else
+                            properties.getItems().set(properties.getItems().indexOf(view), view);
+                        break;
+                    }
+                }
+            }
+            showDebt.run();
+            suggest.run();
+        });
 
         Button sellButton = new Button("SELL");
 
@@ -320,7 +298,7 @@ class Player {
             if (sold == null)
                 return;
             if (sold instanceof RegularProperty &&
-                !Arrays.equals(((RegularProperty) sold).getBuildings(), new int[]{0, 0, 0})) {
+                sold.state.getConfiguration() != 0) {
 
                 Stage sellBuildingStage = new Stage();
                 Label prompt = new Label("Do you want to sell buildings first?");
@@ -346,7 +324,7 @@ class Player {
                     queriesLabels[0].setText(queries[0] + "");
                 });
                 plusButtonHouse.setOnAction(actionEvent1 -> {
-                    if (++queries[0] == ((RegularProperty) sold).getBuildings()[0])
+                    if (++queries[0] == sold.state.getBuildings(0))
                         plusButtonHouse.setVisible(false);
                     minusButtonHouse.setVisible(true);
                     queriesLabels[0].setText(queries[0] + "");
@@ -358,7 +336,7 @@ class Player {
                     queriesLabels[1].setText(queries[1] + "");
                 });
                 plusButtonOfficeBuilding.setOnAction(actionEvent1 -> {
-                    if (++queries[1] == ((RegularProperty) sold).getBuildings()[1])
+                    if (++queries[1] == sold.state.getBuildings(1))
                         plusButtonOfficeBuilding.setVisible(false);
                     minusButtonOfficeBuilding.setVisible(true);
                     queriesLabels[1].setText(queries[1] + "");
@@ -370,20 +348,20 @@ class Player {
                     queriesLabels[2].setText(queries[2] + "");
                 });
                 plusButtonHotel.setOnAction(actionEvent1 -> {
-                    if (++queries[2] == ((RegularProperty) sold).getBuildings()[2])
+                    if (++queries[2] == sold.state.getBuildings(2))
                         plusButtonHotel.setVisible(false);
                     minusButtonHotel.setVisible(true);
                     queriesLabels[2].setText(queries[2] + "");
                 });
 
                 Label house = new Label("HOUSES: \n(" +
-                    MoneyFormat.format(((RegularProperty) sold).getPrices()[1]) + " each)");
+                    MoneyFormat.format(sold.state.getPrices()[1]) + " each)");
                 house.setTextFill(Color.RED);
                 Label officeBuilding = new Label("OFFICE\nBUILDINGS: \n(" +
-                    MoneyFormat.format(((RegularProperty) sold).getPrices()[2]) + " each)");
+                    MoneyFormat.format(sold.state.getPrices()[2]) + " each)");
                 officeBuilding.setTextFill(Color.GREEN);
                 Label hotel = new Label("HOTELS: \n(" +
-                    MoneyFormat.format(((RegularProperty) sold).getPrices()[3]) + " each)");
+                    MoneyFormat.format(sold.state.getPrices()[3]) + " each)");
                 hotel.setTextFill(Color.DODGERBLUE);
 
                 minusButtonHouse.setVisible(false);
@@ -401,29 +379,25 @@ class Player {
                 hotelQuery.setAlignment(Pos.CENTER);
                 hotelQuery.setSpacing(20);
 
-                if (((RegularProperty) sold).getBuildings()[0] == 0) {
+                if (sold.state.getBuildings(0) == 0) {
                     plusButtonHouse.setVisible(false);
                 }
-                if (((RegularProperty) sold).getBuildings()[1] == 0) {
+                if (sold.state.getBuildings(1) == 0) {
                     plusButtonOfficeBuilding.setVisible(false);
                 }
-                if (((RegularProperty) sold).getBuildings()[2] == 0) {
+                if (sold.state.getBuildings(2) == 0) {
                     plusButtonHotel.setVisible(false);
                 }
                 
                 b0.setOnAction(actionEvent1 -> {
-                    double originalMoney = money;
-                    int[] minus = ((RegularProperty) sold).getBuildings();
+                    long originalMoney = state.money;
+                    int[] minus = sold.state.getBuildings();
                     for (int i = 0; i < 3; i++)
                         minus[i] -= queries[i];
-                    build((RegularProperty) sold, minus);
-                    debtArray[0] += (money - originalMoney);
-                    debtText.setText("YOU WILL HAVE: " + MoneyFormat.format(debtArray[0]) + " LEFT");
-                    if (debtArray[0] >= 0) {
-                        debtText.setTextFill(Color.MEDIUMTURQUOISE);
-                        warningLabel.setText("Your debts have been covered.\nYou may safely close this window.");
-                        warningLabel.setTextFill(Color.FORESTGREEN);
-                    }
+                    engine.build(state, sold.state, minus);
+                    debtArray[0] += (state.money - originalMoney);
+                    showDebt.run();
+                    suggest.run();
                     properties.getItems().set(properties.getItems().indexOf(sold), sold);
                     sellBuildingStage.close();
                 });
@@ -440,24 +414,20 @@ class Player {
                 alert1.setTitle("Will you sell this property?");
                 alert1.setHeaderText("Are you sure you want to sell this property?");
                 alert1.setContentText("Once you select OK, this property will be \npermanently sold for " +
-                    MoneyFormat.format(sold.price) + ".");
+                    MoneyFormat.format(sold.state.price()) + ".");
                 Optional<ButtonType> option = alert1.showAndWait();
                 if (option.isPresent() && option.get() == alert1.getButtonTypes().get(0)) {
-                    sell(sold);
-                    debtArray[0] += sold.price;
+                    long soldPrice = sold.state.price();
+                    engine.sell(state, sold.state);
+                    debtArray[0] += soldPrice;
                     properties.getItems().remove(sold);
-
-                    debtText.setText("YOU WILL HAVE: " + MoneyFormat.format(debtArray[0]) + " LEFT");
-                    if (debtArray[0] >= 0) {
-                        debtText.setTextFill(Color.MEDIUMTURQUOISE);
-                        warningLabel.setText("Your debts have been covered.\nYou may safely close this window.");
-                        warningLabel.setTextFill(Color.FORESTGREEN);
-                    }
+                    showDebt.run();
+                    suggest.run();
                 }
             }
         });
 
-        VBox centerBox = new VBox(yourPropertiesLabel, sellButton, properties);
+        VBox centerBox = new VBox(suggestionLabel, suggestionButton, yourPropertiesLabel, sellButton, properties);
         centerBox.setSpacing(16);
         centerBox.setAlignment(Pos.CENTER);
 
@@ -477,31 +447,11 @@ class Player {
 
         pane.setBottom(new Rectangle(32, 32));
         ((Rectangle) pane.getBottom()).setFill(Color.GHOSTWHITE);
-        debtWindow.setScene(new Scene(pane, 500, 375));
+        debtWindow.setScene(new Scene(pane, 500, 550));
         debtWindow.showAndWait();
         return debtArray[0];
     }
 
-    /**
-     * Take a list of properties from an opponent either because the opponent lacked money or declared bankruptcy
-     * upon landing on this Player's property.
-     *
-     * @param other      The opponent selling their properties to this Player
-     * @param properties The list of properties sold
-     */
-    public void takeOver(Player other, List<Property> properties) {
-        this.properties.addAll(properties);
-        propertiesComboBox.getItems().addAll(properties);
-        for (int i = properties.size() - 1; i >= 0; i--) {
-            properties.get(i).owner = this;
-            properties.get(i).ownerRectangle.setFill(playerColor);
-            other.propertiesComboBox.getItems().remove(properties.get(i));
-            other.properties.remove(properties.get(i));
-        }
-        Collections.sort(this.properties);
-        Collections.sort(propertiesComboBox.getItems());
-    }
-
     /**
      * Declare bankruptcy and be eliminated.
      *
@@ -518,34 +468,22 @@ class Player {
 
         Optional<ButtonType> selection = alert.showAndWait();
         if (selection.isPresent() && selection.get() == alert.getButtonTypes().get(0)) {
-            System.out.println(name + " IS BANKRUPT.");
+            System.out.println(state.name + " IS BANKRUPT.");
             return true;
         }
         return false;
     }
 
-    public void receiveEscapeDesertedIsland() {
-        this.escapeDesertedIsland = true;
-    }
-
     public int getComplimentaryTickets() {
-        return complimentaryTickets;
-    }
-
-    public void receiveComplimentaryTicket() {
-        this.complimentaryTickets++;
-    }
-
-    public void useComplimentaryTicket() {
-        this.complimentaryTickets--;
+        return state.complimentaryTickets;
     }
 
     public String getName() {
-        return name;
+        return state.name;
     }
 
     public void setName(String name) {
-        this.name = name;
+        state.name = name;
     }
 
     public ImageView getPlane() {
@@ -556,6 +494,59 @@ class Player {
         this.plane = plane;
     }
 
+    /**
+     * Sets the plane and the color of this Player
+     *
+     * @param planeColor "RED", "BLUE", "YELLOW" or "WHITE"
+     * @throws FileNotFoundException thrown if the plane image is missing
+     */
+    public void setPlaneColor(String planeColor) throws FileNotFoundException {
+        switch (planeColor) {
+            case "RED":
+                setPlane(new ImageView(ImageCache.get("img_planes/red.png", 32, 32)));
+                setPlayerColor(Color.RED);
+                break;
+            case "BLUE":
+                setPlane(new ImageView(ImageCache.get("img_planes/blue.png", 32, 32)));
+                setPlayerColor(Color.DODGERBLUE);
+                break;
+            case "YELLOW":
+                setPlane(new ImageView(ImageCache.get("img_planes/yellow.png", 32, 32)));
+                setPlayerColor(Color.GOLDENROD);
+                break;
+            case "WHITE":
+                setPlane(new ImageView(ImageCache.get("img_planes/white.png", 32, 32)));
+                setPlayerColor(Color.BLACK);
+                break;
+            default:
+                throw new IllegalArgumentException("No " + planeColor + " plane");
+        }
+        this.planeColor = planeColor;
+    }
+
+    /**
+     * @param controller "HUMAN", or the Bot policy making all this Player's decisions: "greedy", "cautious",
+     *                   "landlord", "miser" or "mcts"
+     */
+    public void setController(String controller) {
+        if (controller.equals("HUMAN")) {
+            state.decisions = null;
+            state.debtHandler = this;
+        } else {
+            Bot bot = Bot.named(controller);
+            state.decisions = bot;
+            state.debtHandler = bot;
+        }
+    }
+
+    public boolean isBot() {
+        return state.decisions != null;
+    }
+
+    public String getPlaneColor() {
+        return planeColor;
+    }
+
     public Color getPlayerColor() {
         return playerColor;
     }
@@ -564,16 +555,12 @@ class Player {
         this.playerColor = playerColor;
     }
 
-    public double getMoney() {
-        return money;
+    public long getMoney() {
+        return state.money;
     }
 
     public int getSpace() {
-        return space;
-    }
-
-    public ArrayList<Property> getProperties() {
-        return properties;
+        return state.space;
     }
 
     public ComboBox<Property> getPropertiesComboBox() {
@@ -584,15 +571,28 @@ class Player {
         return moneyText;
     }
 
+    public ProgressBar getWinBar() {
+        return winBar;
+    }
+
+    /**
+     * @param chance estimated chance of this Player to win, in [0,1]
+     */
+    public void showWinChance(double chance) {
+        winBar.setProgress(chance);
+        StringBuilder text = new StringBuilder(24).append("Chance to win: ");
+        winBar.getTooltip().setText(MoneyFormat.appendPercent(text, chance, 1).toString());
+    }
+
     public int getTurnsLeftOnDesertedIsland() {
-        return turnsLeftOnDesertedIsland;
+        return state.turnsLeftOnDesertedIsland;
     }
 
     public boolean hasEscapeDesertedIsland() {
-        return escapeDesertedIsland;
+        return state.escapeDesertedIsland;
     }
 
     public boolean isSpaceStation() {
-        return spaceStation;
+        return state.spaceStation;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package sample;
+
+/**
+ * Game-rule state of a player: money, location, Golden Key items and owned properties.
+ * The owned properties are a bit mask by space, with aggregates the GameEngine keeps up to date on every
+ * change, so that portfolio questions don't scan the board. Iterating the mask lowest bit first visits the
+ * properties in space order.
+ * The JavaFX Player class is a view over one of these.
+ */
+class PlayerState {
+    static final int NONE = -1;
+
+    final int id;
+    String name;
+    long money;  // in thousands of dollars
+    int space;
+    long owned;                          // bit (1L << space) of every property owned
+    final int[] buildings = new int[3];  // total # of HOUSES, OFFICE_BUILDINGS and HOTELS over all properties
+    long assets;                         // total price of the properties owned, buildings included
+    int mostExpensive = NONE;            // space of the highest-priced property owned (lowest space on ties)
+
+    int turnsLeftOnDesertedIsland;
+    int complimentaryTickets;
+    boolean escapeDesertedIsland;
+    boolean spaceStation;
+
+    Decisions decisions;      // null for human players, who decide through the JavaFX popups
+    DebtHandler debtHandler;  // asked to raise funds when this player can't pay a bill
+
+    /**
+     * Player starts with $30.00M at the GO space
+     *
+     * @param id   index of this player among all players of the game, starting at 0
+     * @param name name of the player
+     */
+    PlayerState(int id, String name) {
+        this.id = id;
+        this.name = name;
+        money = Board.STARTING_MONEY;
+    }
+
+    /**
+     * Copy of another player, keeping their Decisions and DebtHandler
+     */
+    PlayerState(PlayerState other) {
+        id = other.id;
+        name = other.name;
+        money = other.money;
+        space = other.space;
+        owned = other.owned;
+        System.arraycopy(other.buildings, 0, buildings, 0, buildings.length);
+        assets = other.assets;
+        mostExpensive = other.mostExpensive;
+        turnsLeftOnDesertedIsland = other.turnsLeftOnDesertedIsland;
+        complimentaryTickets = other.complimentaryTickets;
+        escapeDesertedIsland = other.escapeDesertedIsland;
+        spaceStation = other.spaceStation;
+        decisions = other.decisions;
+        debtHandler = other.debtHandler;
+    }
+
+    boolean owns(int space) {
+        return (owned & 1L << space) != 0;
+    }
+
+    int propertyCount() {
+        return Long.bitCount(owned);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,288 @@
+package sample;
+
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.media.AudioClip;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+
+/**
+ * PopupView is the window shown after a Player lands on a space. Each kind of popup is built once and
+ * re-bound to the space it's shown for, so opening a popup doesn't build a new scene graph.
+ * SUBCLASSES: Corner spaces (incl. Welfare Tax), Golden Keys, unowned properties, rent, and the Player's own
+ * property (building)
+ */
+class PopupView {
+    static final Font TITLE_FONT = new Font("Arial Black", 20);
+
+    final BorderPane pane = new BorderPane();
+    final ImageView imageView = new ImageView();
+    final Label topLabel = new Label();
+    final Label money = new Label();
+    final VBox rightVBox = new VBox();
+    final Button b0 = new Button("OK");
+
+    final Label odds = new Label();
+    AudioClip introSound;
+
+    PopupView() {
+        imageView.setFitWidth(400);
+        imageView.setFitHeight(300);
+
+        topLabel.setFont(TITLE_FONT);
+        topLabel.setAlignment(Pos.CENTER);
+        money.setFont(TITLE_FONT);
+
+        b0.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[3].play(.5));
+
+        rightVBox.setSpacing(16);
+        rightVBox.setAlignment(Pos.CENTER);
+        Rectangle leftMargin = new Rectangle(12, 12, Color.GHOSTWHITE);
+        Rectangle rightMargin = new Rectangle(12, 12, Color.GHOSTWHITE);
+        HBox rightHBox = new HBox(leftMargin, rightVBox, rightMargin);
+        rightHBox.setSpacing(16);
+
+        pane.setLeft(imageView);
+        pane.setTop(topLabel);
+        pane.setRight(rightHBox);
+    }
+
+    /**
+     * Re-binds the parts every popup has
+     *
+     * @param card        image shown on the left
+     * @param title       text on top
+     * @param playerMoney money of the Player whose turn it is
+     * @param introSound  sound played when the popup opens; NULL for none
+     */
+    void bind(Image card, String title, long playerMoney, AudioClip introSound) {
+        imageView.setImage(card);
+        topLabel.setText(title);
+        topLabel.setTextFill(Color.OLIVEDRAB);
+        money.setText("You have: " + MoneyFormat.format(playerMoney));
+        money.setTextFill(playerMoney >= 6 * Board.MILLION ? Color.FORESTGREEN : Color.CRIMSON);
+        this.introSound = introSound;
+    }
+
+    /**
+     * @param oddsText chance per roll that a Player lands on the space, LandingProbabilities.oddsText
+     */
+    void bindOdds(String oddsText) {
+        odds.setText(oddsText);
+    }
+
+    /**
+     * @return the button whose action closing the window stands for
+     */
+    Button dismissButton() {
+        return b0;
+    }
+
+    /**
+     * Shows or hides an optional part of the popup, taking it out of the layout when hidden
+     */
+    static void show(Node node, boolean visible) {
+        node.setVisible(visible);
+        node.setManaged(visible);
+    }
+}
+
+
+/**
+ * Popup of GO, Deserted Island, Welfare Zone, Space Station and Welfare Tax.
+ * Only Space Station offers to decline (b1).
+ */
+class CornerPopup extends PopupView {
+    final Button b1 = new Button("No Thanks.");
+    int space;
+
+    CornerPopup() {
+        b1.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[5].play(.5));
+        rightVBox.getChildren().setAll(money, b0, b1);
+    }
+
+    void bind(int space, String title, String buttonText, long playerMoney, AudioClip introSound) {
+        bind(PropertyCards.get(space), title, playerMoney, introSound);
+        this.space = space;
+        b0.setText(buttonText);
+        show(b1, space == Board.SPACE_STATION);
+    }
+
+    @Override
+    Button dismissButton() {
+        return space == Board.SPACE_STATION ? b1 : b0;
+    }
+}
+
+
+/**
+ * Popup of a Golden Key card; some cards show a detail (e.g. the fee) above the Player's money
+ */
+class GoldenKeyPopup extends PopupView {
+    final Label detail = new Label();
+    int goldenKey;
+
+    GoldenKeyPopup() {
+        b0.setText("OK");
+        rightVBox.getChildren().setAll(detail, money, b0);
+    }
+
+    /**
+     * @param detail text shown above the Player's money; NULL for none
+     */
+    void bind(GoldenKey goldenKey, String detail, long playerMoney) {
+        bind(goldenKey.card, "GOLDEN KEY CARD", playerMoney, AudioClips.goldenKey);
+        this.goldenKey = goldenKey.id;
+        this.detail.setText(detail);
+        show(this.detail, detail != null);
+    }
+}
+
+
+/**
+ * Popup of a property owned by the banker, offering to purchase it
+ */
+class PurchasePopup extends PopupView {
+    final Label message = new Label("Would you like to purchase this property?");
+    final Button b2 = new Button("NO");
+    Property property;
+
+    PurchasePopup() {
+        b2.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[5].play(.5));
+        rightVBox.getChildren().setAll(message, odds, money, b0, b2);
+    }
+
+    void bind(Property property, long playerMoney) {
+        bind(PropertyCards.get(property.space), "UNOWNED PROPERTY", playerMoney, AudioClips.property);
+        this.property = property;
+        b0.setText("YES (for " + MoneyFormat.format(property.state.price()) + ")");
+    }
+
+    @Override
+    Button dismissButton() {
+        return b2;
+    }
+}
+
+
+/**
+ * Popup of a property owned by another Player, asking for rent; a Complimentary Ticket may be used instead (b6)
+ */
+class RentPopup extends PopupView {
+    final Label message = new Label();
+    final Button b6 = new Button("...or use Complimentary Ticket!");
+    Property property;
+    boolean paid;  // rent is paid once, however many times b0 is pressed
+
+    RentPopup() {
+        b6.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[3].play(.5));
+        rightVBox.getChildren().setAll(message, money, b0, b6);
+    }
+
+    void bind(Property property, Color ownerColor, long playerMoney, boolean complimentaryTicket) {
+        PlayerState owner = property.state.owner();
+        bind(PropertyCards.get(property.space), "Owned by: " + owner.name, playerMoney, AudioClips.rent);
+        this.property = property;
+        paid = false;
+        topLabel.setTextFill(ownerColor);
+        message.setText("You owe rent to " + owner.name + "!");
+        b0.setText("Pay rent (" + MoneyFormat.format(property.state.rent()) + ")");
+        show(b6, complimentaryTicket);
+    }
+}
+
+
+/**
+ * Popup of the Player's own property. For a RegularProperty, the Player sets the number of each building
+ * type (0-2) with the +/- buttons; a SpecialProperty only shows that the Player owns it.
+ */
+class BuildPopup extends PopupView {
+    static final Font COUNT_FONT = new Font("Arial Black", 26);
+
+    final Label message = new Label();
+    final Label[] counts = new Label[3];
+    final Button[] minusButtons = new Button[3];
+    final Button[] plusButtons = new Button[3];
+    final HBox[] queryRows = new HBox[3];
+    final Button b3 = new Button("No thanks.");
+
+    final int[] queries = new int[3];
+    Property property;
+
+    BuildPopup() {
+        String[] names = {"HOUSES:    ", "OFFICE\nBUILDINGS:", "HOTELS:    "};
+        Color[] colors = {Color.RED, Color.GREEN, Color.DODGERBLUE};
+        for (int i = 0; i < 3; i++) {
+            int type = i;
+            Label name = new Label(names[i]);
+            name.setTextFill(colors[i]);
+            counts[i] = new Label("0");
+            counts[i].setFont(COUNT_FONT);
+            minusButtons[i] = new Button("-");
+            plusButtons[i] = new Button("+");
+            minusButtons[i].setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[4].play(.5));
+            plusButtons[i].setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[4].play(.5));
+            minusButtons[i].setOnAction(actionEvent -> {
+                AudioClips.buttonAudioClips[1].play(.5);
+                queries[type]--;
+                refreshQuery(type);
+            });
+            plusButtons[i].setOnAction(actionEvent -> {
+                AudioClips.buttonAudioClips[1].play(.5);
+                queries[type]++;
+                refreshQuery(type);
+            });
+            queryRows[i] = new HBox(name, minusButtons[i], counts[i], plusButtons[i]);
+            queryRows[i].setAlignment(Pos.CENTER);
+            queryRows[i].setSpacing(20);
+        }
+        b0.setOnMouseEntered(mouseEvent ->
+            AudioClips.buttonAudioClips[property instanceof RegularProperty ? 3 : 5].play(.5));
+        b3.setOnMouseEntered(mouseEvent -> AudioClips.buttonAudioClips[5].play(.5));
+        rightVBox.getChildren().setAll(message, odds, money, queryRows[0], queryRows[1], queryRows[2], b0, b3);
+    }
+
+    void bind(Property property, Color ownerColor, long playerMoney) {
+        bind(PropertyCards.get(property.space), "Owned by: " + property.state.owner().name, playerMoney,
+            AudioClips.build);
+        this.property = property;
+        topLabel.setTextFill(ownerColor);
+
+        boolean regular = property instanceof RegularProperty;
+        if (regular) {
+            message.setText("Set the number of buildings at this property.\n" +
+                "Construct/sell each building type");
+            b0.setText("Construct/Sell Buildings");
+            for (int i = 0; i < 3; i++) {
+                queries[i] = property.state.getBuildings(i);
+                refreshQuery(i);
+            }
+        } else {
+            message.setText("You own this property.");
+            b0.setText("OK");
+        }
+        for (HBox row : queryRows) {
+            show(row, regular);
+        }
+        show(b3, regular);
+    }
+
+    @Override
+    Button dismissButton() {
+        return property instanceof RegularProperty ? b3 : b0;
+    }
+
+    private void refreshQuery(int type) {
+        counts[type].setText(queries[type] + "");
+        minusButtons[type].setVisible(queries[type] > 0);
+        plusButtons[type].setVisible(queries[type] < 2);
+    }
+}
@@ -8,38 +8,29 @@ import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.util.Arrays;
 
 /**
- * Property abstract class represents a property in the board game that a Player could purchase
+ * Property abstract class is the view of a property in the board game that a Player could purchase;
+ * its rules live in PropertyState
  * SUBCLASSES: Regular properties (can have buildings), Special properties (don't have buildings), and
  * Columbia Space Shuttle (a special property with another unique form of rent)
  */
 abstract class Property implements Comparable<Property> {
-    protected final String name;
-    protected double price;
-    protected double rent;
-    protected Player owner;
-    protected Image propertyCard = null;  // later assigned with setPropertyCard(Image)
+    final PropertyState state;
     protected Rectangle ownerRectangle;
+    private String label;  // toString(), made again after the state changes
 
     final int space;
 
     /**
-     * Constructor of a Property; owner is defaulted to NULL (the banker)
+     * Constructor of a Property view
      *
-     * @param name  name of Property (constant)
-     * @param price price of Property (changes with more buildings for RegularProperties)
-     * @param rent  rent of Property (changes with more buildings for RegularProperties)
+     * @param state the game-rule state of this Property (name, price, rent, owner)
      */
-    public Property(String name, double price, double rent, int space) {
-        this.name = name;
-        this.price = price;
-        this.rent = rent;
-        owner = null;
-        this.space = space;
+    public Property(PropertyState state) {
+        this.state = state;
+        this.space = state.space;
         ownerRectangle = new Rectangle(12, 12);
         ownerRectangle.setFill(Color.TRANSPARENT);
         if (space < 10) {
@@ -59,8 +50,14 @@ abstract class Property implements Comparable<Property> {
         GridPane.setValignment(ownerRectangle, VPos.CENTER);
     }
 
-    public void setPropertyCard(Image image) {
-        propertyCard = image;
+    /**
+     * Redraws this Property after its state changed
+     *
+     * @param ownerColor color of the owner's plane; NULL if owned by the banker
+     */
+    public void refresh(Color ownerColor) {
+        ownerRectangle.setFill(ownerColor == null ? Color.TRANSPARENT : ownerColor);
+        label = null;
     }
 
     @Override
@@ -68,9 +65,19 @@ abstract class Property implements Comparable<Property> {
         return this.space - o.space;
     }
 
+    /**
+     * Shown by the properties ComboBoxes, which call it on every redraw and sort
+     */
     @Override
     public String toString() {
-        return space + ". " + name + "\n(" + MoneyFormat.format(price) + ")";
+        if (label == null)
+            label = appendLabel(new StringBuilder(48)).toString();
+        return label;
+    }
+
+    StringBuilder appendLabel(StringBuilder out) {
+        out.append(space).append(". ").append(state.name).append("\n(");
+        return MoneyFormat.appendTo(out, state.price()).append(')');
     }
 }
 
@@ -81,30 +88,23 @@ abstract class Property implements Comparable<Property> {
  * RegularProperties can have up to 2 of each building types, for a maximum of 6 buildings in total.
  */
 class RegularProperty extends Property {
-    private int[] buildings;
-    private double[] prices;
-    private double[] rents;
     HBox buildingPics;
 
     final Image[][] buildingImages = new Image[3][3];
 
     /**
-     * @param name   Name of property
-     * @param prices {base price, HOUSE price, OFFICE_BUILDING price, HOTEL price}
-     * @param rents  {base rent, HOUSE1 rent, HOUSE2 rent, OFFICE_BUILDING rent, HOTEL rent}
+     * @param state the game-rule state of this Property, including its buildings, prices and rents
      */
-    public RegularProperty(String name, double[] prices, double[] rents, int space) throws FileNotFoundException {
-        super(name, prices[0], rents[0], space);
-        buildings = new int[]{0, 0, 0};
-        this.prices = prices;
-        this.rents = rents;
-
-        buildingImages[0][1] = new Image(new FileInputStream("img_buildings/house.png"));
-        buildingImages[0][2] = new Image(new FileInputStream("img_buildings/house2.png"));
-        buildingImages[1][1] = new Image(new FileInputStream("img_buildings/officebuilding.png"));
-        buildingImages[1][2] = new Image(new FileInputStream("img_buildings/officebuilding2.png"));
-        buildingImages[2][1] = new Image(new FileInputStream("img_buildings/hotel.png"));
-        buildingImages[2][2] = new Image(new FileInputStream("img_buildings/hotel2.png"));
+    public RegularProperty(PropertyState state) throws FileNotFoundException {
+        super(state);
+
+        // shared by every RegularProperty through the ImageCache, decoded at icon size
+        buildingImages[0][1] = ImageCache.get("img_buildings/house.png", 16, 16);
+        buildingImages[0][2] = ImageCache.get("img_buildings/house2.png", 16, 16);
+        buildingImages[1][1] = ImageCache.get("img_buildings/officebuilding.png", 16, 16);
+        buildingImages[1][2] = ImageCache.get("img_buildings/officebuilding2.png", 16, 16);
+        buildingImages[2][1] = ImageCache.get("img_buildings/hotel.png", 16, 16);
+        buildingImages[2][2] = ImageCache.get("img_buildings/hotel2.png", 16, 16);
 
         buildingPics = new HBox();
         for (int i = 0; i < 3; i++) {
@@ -137,59 +137,24 @@ class RegularProperty extends Property {
     }
 
     /**
-     * Specifies the number of each building type the Player wants at this Property
-     *
-     * @param request {# HOUSES to have, # OFFICE BUILDINGS to have, # HOTELS to have}
+     * Redraws the building icons along with the owner
      */
-    public void construct(int[] request) {
-        price = prices[0];
-        rent = 0;
-        if (Arrays.equals(request, new int[]{0, 0, 0})) {
-            rent = rents[0];
-        } else {
-            if (request[0] == 1) {
-                rent = rents[1];
-                price += prices[1];
-            } else if (request[0] == 2) {
-                rent = rents[2];
-                price += prices[1] * 2;
-            }
-            rent += rents[3] * request[1] + rents[4] * request[2];
-            price += prices[2] * request[1] + prices[3] * request[2];
-        }
-
-        buildings = request;
-
-
+    @Override
+    public void refresh(Color ownerColor) {
+        super.refresh(ownerColor);
         for (int i = 0; i < 3; i++) {
-            ((ImageView) buildingPics.getChildren().get(i)).setImage(buildingImages[i][buildings[i]]);
+            ((ImageView) buildingPics.getChildren().get(i)).setImage(buildingImages[i][state.getBuildings(i)]);
         }
     }
 
-    /**
-     * Removes all buildings at this property
-     */
-    public void deconstruct() {
-        buildings = new int[]{0, 0, 0};
-        price = prices[0];
-        rent = rents[0];
-        ((ImageView) buildingPics.getChildren().get(0)).setImage(null);
-        ((ImageView) buildingPics.getChildren().get(1)).setImage(null);
-        ((ImageView) buildingPics.getChildren().get(2)).setImage(null);
-    }
-
-
-    public int[] getBuildings() {
-        return buildings;
-    }
-
-    public double[] getPrices() {
-        return prices;
-    }
-
     @Override
-    public String toString() {
-        return space + ". " + name + " " + Arrays.toString(buildings) + "\n(" + MoneyFormat.format(price) + ")";
+    StringBuilder appendLabel(StringBuilder out) {
+        out.append(space).append(". ").append(state.name)
+            .append(" [").append(state.getBuildings(PropertyState.HOUSE))
+            .append(", ").append(state.getBuildings(PropertyState.OFFICE_BUILDING))
+            .append(", ").append(state.getBuildings(PropertyState.HOTEL))
+            .append("]\n(");
+        return MoneyFormat.appendTo(out, state.price()).append(')');
     }
 }
 
@@ -198,8 +163,8 @@ class RegularProperty extends Property {
  */
 class SpecialProperty extends Property {
 
-    public SpecialProperty(String name, double price, double rent, int space) {
-        super(name, price, rent, space);
+    public SpecialProperty(PropertyState state) {
+        super(state);
     }
 }
 
@@ -208,9 +173,7 @@ class SpecialProperty extends Property {
  * SPACE STATION in their next turn
  */
 class ColumbiaSpaceShuttle extends SpecialProperty {
-    static final double ENTRY_FEE = 2.00;
-
-    public ColumbiaSpaceShuttle() {
-        super("Columbia", 4.50, 4.00, 32);
+    public ColumbiaSpaceShuttle(PropertyState state) {
+        super(state);
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package sample;
+
+import javafx.scene.image.Image;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cards shown in the popup when a Player lands on a space (img_properties/(space).png).
+ * Cards are loaded on demand in the background, decoded at the popup's 400x300 size, and only the
+ * most recently shown ones are kept.
+ */
+final class PropertyCards {
+    static final String thatDirectory = "img_properties/";
+    static final double WIDTH = 400;
+    static final double HEIGHT = 300;
+    static final int CAPACITY = 12;
+
+    private static final LinkedHashMap<Integer, Image> cards = new LinkedHashMap<>(16, .75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Image> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+
+    private PropertyCards() {
+    }
+
+    /**
+     * Returns the card of the space, starting to load it in the background if it isn't cached.
+     * Call it as soon as the destination is known (e.g. when the dice are rolled) so the card is ready
+     * by the time the popup shows it.
+     *
+     * @param space space index [0,39]
+     * @return the card of that space; it may still be loading
+     */
+    static Image get(int space) {
+        return cards.computeIfAbsent(space, key -> new Image(
+            Assets.url(thatDirectory + key + ".png"), WIDTH, HEIGHT, false, true, true));
+    }
+}
@@ -0,0 +1,168 @@
+package sample;
+
+/**
+ * Game-rule state of a Property on the board: its owner, buildings, and current price and rent.
+ * These live in the arrays of the game's BoardState; a PropertyState is the handle of one space onto them.
+ * The JavaFX Property classes are views over one of these. Prices and rents are in thousands of dollars.
+ * BUILDINGS array consists of three integers: {# of HOUSES, # of OFFICE_BUILDINGS, # of HOTELS}.
+ * Regular properties can have up to 2 of each building types; special properties have no buildings.
+ * The buildings are kept as one CONFIGURATION number in [0,26], (# HOUSES) * 9 + (# OFFICE_BUILDINGS) * 3 +
+ * (# HOTELS), which indexes the precomputed price and rent tables of Board.
+ */
+class PropertyState implements Comparable<PropertyState> {
+    static final int HOUSE = 0;
+    static final int OFFICE_BUILDING = 1;
+    static final int HOTEL = 2;
+    static final int CONFIGURATIONS = 27;  // 0-2 of each of the 3 building types
+
+    private static final int[] WEIGHTS = {9, 3, 1};
+
+    final int space;
+    final String name;
+    final boolean regular;
+    private final long[] prices;
+    private final long[] priceTable;
+    private final long[] rentTable;
+    private final BoardState board;
+    private final PlayerState[] seats;
+
+    /**
+     * @param space space index of this Property; its name, prices and rents are those of Board
+     * @param board where the state of this Property is kept
+     * @param seats every player of the game by PlayerState.id, to resolve the owner
+     */
+    PropertyState(int space, BoardState board, PlayerState[] seats) {
+        this.space = space;
+        this.board = board;
+        this.seats = seats;
+        name = Board.NAMES[space];
+        prices = Board.PRICES[space];
+        priceTable = Board.PRICE_TABLES[space];
+        rentTable = Board.RENT_TABLES[space];
+        regular = prices.length == 4;
+    }
+
+    long price() {
+        return board.prices[space];
+    }
+
+    long rent() {
+        return board.rents[space];
+    }
+
+    /**
+     * @return owner of this Property; NULL if the banker
+     */
+    PlayerState owner() {
+        int owner = board.owners[space];
+        return owner == BoardState.NOBODY ? null : seats[owner];
+    }
+
+    /**
+     * @param owner NULL for the banker
+     */
+    void setOwner(PlayerState owner) {
+        board.owners[space] = owner == null ? BoardState.NOBODY : owner.id;
+    }
+
+    /**
+     * @param request {# HOUSES, # OFFICE BUILDINGS, # HOTELS}
+     * @return configuration number of the requested buildings
+     */
+    static int configuration(int[] request) {
+        return request[HOUSE] * WEIGHTS[HOUSE] + request[OFFICE_BUILDING] * WEIGHTS[OFFICE_BUILDING] +
+            request[HOTEL] * WEIGHTS[HOTEL];
+    }
+
+    /**
+     * @param type HOUSE, OFFICE_BUILDING or HOTEL
+     * @return # of buildings of that type in the configuration
+     */
+    static int count(int configuration, int type) {
+        return configuration / WEIGHTS[type] % 3;
+    }
+
+    /**
+     * Price of this Property if it had the buildings of the configuration
+     *
+     * @return base price plus the price of every building
+     */
+    long priceWith(int configuration) {
+        return priceTable[configuration];
+    }
+
+    /**
+     * @param request {# HOUSES, # OFFICE BUILDINGS, # HOTELS}
+     */
+    long priceWith(int[] request) {
+        return priceTable[configuration(request)];
+    }
+
+    /**
+     * Rent of this Property if it had the buildings of the configuration
+     *
+     * @return base rent without buildings; otherwise rent of the houses plus rent of every other building
+     */
+    long rentWith(int configuration) {
+        return rentTable[configuration];
+    }
+
+    /**
+     * @param request {# HOUSES, # OFFICE BUILDINGS, # HOTELS}
+     */
+    long rentWith(int[] request) {
+        return rentTable[configuration(request)];
+    }
+
+    /**
+     * Specifies the buildings at this Property
+     *
+     * @param configuration configuration number of the buildings to have
+     */
+    void construct(int configuration) {
+        board.construct(space, configuration);
+    }
+
+    /**
+     * @param request {# HOUSES to have, # OFFICE BUILDINGS to have, # HOTELS to have}
+     */
+    void construct(int[] request) {
+        construct(configuration(request));
+    }
+
+    /**
+     * Removes all buildings at this Property
+     */
+    void deconstruct() {
+        construct(0);
+    }
+
+    int getConfiguration() {
+        return board.configurations[space];
+    }
+
+    /**
+     * @param type HOUSE, OFFICE_BUILDING or HOTEL
+     */
+    int getBuildings(int type) {
+        return count(board.configurations[space], type);
+    }
+
+    /**
+     * @return a new {# HOUSES, # OFFICE BUILDINGS, # HOTELS} array
+     */
+    int[] getBuildings() {
+        int configuration = board.configurations[space];
+        return new int[]{count(configuration, HOUSE), count(configuration, OFFICE_BUILDING),
+            count(configuration, HOTEL)};
+    }
+
+    long[] getPrices() {
+        return prices;
+    }
+
+    @Override
+    public int compareTo(PropertyState o) {
+        return this.space - o.space;
+    }
+}
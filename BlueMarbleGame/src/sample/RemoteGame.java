@@ -0,0 +1,488 @@
+package sample;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.HPos;
+import javafx.geometry.Pos;
+import javafx.geometry.VPos;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.*;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.stage.Stage;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.InflaterInputStream;
+
+import static sample.FillSpaceToPropertyMap.fill;
+
+/**
+ * A game hosted by a GameServer, shown on one terminal of its table. The board is redrawn from the lines the
+ * server sends (see GameSession) instead of the changes of a local GameEngine, and the popups of the questions
+ * asked to this terminal's seats send their answers back. The board's views are the GameManager's.
+ * <p>
+ * A reader thread queues the lines as they come; once per pulse, an AnimationTimer applies every line queued
+ * to a mirror of the game, then redraws only what they changed. A burst of Bot turns costs one redraw, and a
+ * line waits at most a frame to be shown. The server compresses the lines (see LineChannel), and neither end
+ * holds back small packets.
+ */
+final class RemoteGame {
+    static final int CONNECT_MILLIS = 3000;
+    static final String[] PLANES = {"RED", "BLUE", "YELLOW", "WHITE"};
+    private static final String CLOSED = "CLOSED";  // queued once the server closed the connection
+
+    private final GameManager board;
+    private final PrintWriter server;
+    private final ConcurrentLinkedQueue<String> received = new ConcurrentLinkedQueue<>();
+    private final AnimationTimer pulse;
+    private final Label status = new Label("Connecting...");
+
+    private GameEngine mirror;      // the game as the server sent it; never played here
+    private String[] controllers;   // REMOTE or the Bot policy of every seat
+    private Player[] playerViews;   // indexed by PlayerState.id
+    private final List<Player> players = new ArrayList<>(4);  // those still playing, in the rows' order
+    private int mySeats;            // bit (1 << seat) of every seat played at this terminal
+    private boolean asked;          // a question to this terminal waits for its answer
+    private int staleMoney;         // bit (1 << PlayerState.id) of every money label to redraw
+    private int stalePlanes;        // bit (1 << PlayerState.id) of every plane to move
+    private long staleProperties;   // bit (1L << space) of every Property view to redraw
+    private boolean staleWelfare;
+
+    /**
+     * Connects to the server and sends the command starting or joining a game
+     *
+     * @param board   the GameManager whose board, dice and popups show the game; it plays no game itself
+     * @param command NEW (seats), OPEN (seats) or JOIN (table)
+     * @throws IOException thrown if the server can't be reached
+     */
+    RemoteGame(GameManager board, String host, int port, String command) throws IOException {
+        this.board = board;
+        Socket socket = new Socket();
+        socket.setTcpNoDelay(true);  // an answer is a packet of its own
+        socket.connect(new InetSocketAddress(host, port), CONNECT_MILLIS);
+        server = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+        server.println("COMPRESS");
+        server.println(command);
+
+        // not through a Reader: InflaterInputStream.available() says 1 until the end, so a Reader would block for
+        // more than the batch the server flushed
+        InputStream in = new InflaterInputStream(socket.getInputStream());
+        Thread reader = new Thread(() -> {
+            byte[] buffer = new byte[4096];
+            StringBuilder line = new StringBuilder(LineChannel.MAX_LINE);
+            try {
+                for (int read; (read = in.read(buffer)) > 0; ) {
+                    for (int i = 0; i < read; i++) {
+                        if (buffer[i] != '\n') {
+                            line.append((char) buffer[i]);
+                        } else {
+                            received.add(line.toString());
+                            line.setLength(0);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // the connection is closed
+            }
+            received.add(CLOSED);
+        }, "Server lines");
+        reader.setDaemon(true);
+        reader.start();
+
+        bindPopups();
+        status.setFont(new Font("Arial", 16));
+        board.gameBox.getChildren().setAll(status);
+        pulse = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (received.isEmpty())
+                    return;
+                for (String line; (line = received.poll()) != null; ) {
+                    apply(line);
+                }
+                redraw();
+            }
+        };
+        pulse.start();
+    }
+
+    /**
+     * Applies a line of the server to the mirror, marking what it changed to redraw
+     */
+    private void apply(String line) {
+        String[] words = line.split(" ");
+        try {
+            switch (words[0]) {
+                case "TABLE":
+                    status.setText("Table " + words[1] + ": waiting for players to join it.");
+                    break;
+                case "YOU":
+                    mySeats |= 1 << Integer.parseInt(words[1]);
+                    break;
+                case "GAME":
+                    startGame(Long.parseLong(words[1]), Integer.parseInt(words[2]));
+                    break;
+                case "SEAT":
+                    int seat = Integer.parseInt(words[1]);
+                    controllers[seat] = words[2];
+                    if (seat == controllers.length - 1)
+                        setUpBoard();
+                    break;
+                case "TURN":
+                    showTurn(playerViews[Integer.parseInt(words[1])]);
+                    break;
+                case "DICE":
+                    AudioClips.dice[1].play();
+                    board.die1.setImage(board.dice.get(Integer.parseInt(words[1])));
+                    board.die2.setImage(board.dice.get(Integer.parseInt(words[2])));
+                    break;
+                case "SPACE":
+                    int moved = Integer.parseInt(words[1]);
+                    mirror.seats[moved].space = Integer.parseInt(words[2]);
+                    stalePlanes |= 1 << moved;
+                    break;
+                case "MONEY":
+                    int id = Integer.parseInt(words[1]);
+                    mirror.seats[id].money = Long.parseLong(words[2]);
+                    staleMoney |= 1 << id;
+                    break;
+                case "PROPERTY":
+                    int space = Integer.parseInt(words[1]);
+                    int owner = Integer.parseInt(words[2]);
+                    mirror.mirrorProperty(owner < 0 ? null : mirror.seats[owner], mirror.properties[space],
+                        Integer.parseInt(words[3]));
+                    staleProperties |= 1L << space;
+                    break;
+                case "WELFARE":
+                    mirror.welfare = Long.parseLong(words[1]);
+                    staleWelfare = true;
+                    break;
+                case "ELIMINATED":
+                    eliminate(playerViews[Integer.parseInt(words[1])]);
+                    break;
+                case "ASK":
+                    ask(words[1], Integer.parseInt(words[2]), words.length > 3 ? Integer.parseInt(words[3]) : -1);
+                    break;
+                case "ERROR":
+                    status.setText(line.substring(6));
+                    status.setTextFill(Color.RED);
+                    break;
+                case "OVER":
+                    gameOver(Integer.parseInt(words[1]));
+                    break;
+                case CLOSED:
+                    pulse.stop();
+                    status.setText("The server closed the connection.");
+                    status.setTextFill(Color.RED);
+                    break;
+            }
+        } catch (FileNotFoundException e) {
+            e.printStackTrace();
+        } catch (RuntimeException e) {
+            System.err.println("Unreadable line from the server: " + line);  // shown as far as it's understood
+        }
+    }
+
+    /**
+     * GAME: the mirror starts like the server's game; the seats follow
+     */
+    private void startGame(long seed, int seats) {
+        List<PlayerState> states = new ArrayList<>(seats);
+        for (int i = 0; i < seats; i++) {
+            states.add(new PlayerState(i, "Player " + (i + 1)));
+        }
+        mirror = new GameEngine(states, board.goldenKeyDeck, seed, null);
+        controllers = new String[seats];
+    }
+
+    /**
+     * Once every seat is known: the planes, Properties, dice and the rows of the Players
+     */
+    private void setUpBoard() throws FileNotFoundException {
+        GridPane grid = board.playerGridPane;
+        playerViews = new Player[mirror.seats.length];
+        for (PlayerState state : mirror.seats) {
+            Player player = new Player(state);
+            player.engine = mirror;
+            player.setPlaneColor(PLANES[state.id]);
+            if (isMine(state.id))
+                player.setName(state.name + " (you)");
+            else if (!controllers[state.id].equals(GameSession.REMOTE))
+                player.setName(state.name + " (" + controllers[state.id] + ")");
+            playerViews[state.id] = player;
+            players.add(player);
+
+            ImageView plane = player.getPlane();
+            plane.setFitHeight(32);
+            plane.setFitWidth(32);
+            GridPane.setHalignment(plane, HPos.CENTER);
+            GridPane.setValignment(plane, VPos.CENTER);
+            player.placePlane();
+            grid.getChildren().add(plane);
+        }
+
+        fill(board.spaceToProperty, mirror);
+        for (Property property : board.spaceToProperty) {
+            if (property == null)
+                continue;
+            if (property instanceof RegularProperty)
+                grid.getChildren().add(((RegularProperty) property).buildingPics);
+            grid.getChildren().add(property.ownerRectangle);
+        }
+        grid.getChildren().addAll(board.die1, board.die2);
+
+        status.setText(mySeats == 0 ? "Watching the game." : "Playing online.");
+        board.gameBox.getChildren().setAll(status, board.playerTurnLabel);
+        for (Player player : players) {
+            Label name = new Label(player.getName());
+            name.setPrefWidth(130);
+            HBox hBox = new HBox(name, player.getMoneyText(), player.getPropertiesComboBox());
+            hBox.setSpacing(32);
+            hBox.setBorder(new Border(new BorderStroke(player.getPlayerColor(),
+                BorderStrokeStyle.SOLID, CornerRadii.EMPTY, BorderWidths.DEFAULT)));
+            board.gameBox.getChildren().add(hBox);
+        }
+        AudioClips.startup.play(.7);
+    }
+
+    private boolean isMine(int seat) {
+        return (mySeats & 1 << seat) != 0;
+    }
+
+    private void showTurn(Player player) {
+        player.getPlane().toFront();
+        board.playerTurnLabel.setTextFill(player.getPlayerColor());
+        board.playerTurnLabel.setText(player.getName() + "'s turn.");
+    }
+
+    /**
+     * Redraws what the lines of this pulse changed, once
+     */
+    private void redraw() {
+        for (int stale = staleMoney; stale != 0; stale &= stale - 1) {
+            playerViews[Integer.numberOfTrailingZeros(stale)].refreshMoney();
+        }
+        for (int stale = stalePlanes; stale != 0; stale &= stale - 1) {
+            playerViews[Integer.numberOfTrailingZeros(stale)].placePlane();
+        }
+        if (staleProperties != 0) {
+            for (long stale = staleProperties; stale != 0; stale &= stale - 1) {
+                PropertyState property = mirror.properties[Long.numberOfTrailingZeros(stale)];
+                PlayerState owner = property.owner();
+                board.spaceToProperty[property.space].refresh(
+                    owner == null ? null : playerViews[owner.id].getPlayerColor());
+            }
+            for (Player player : playerViews) {
+                player.refreshProperties(board.spaceToProperty);
+            }
+        }
+        if (staleWelfare)
+            board.welfareText.setText(MoneyFormat.format(mirror.welfare));
+        staleMoney = 0;
+        stalePlanes = 0;
+        staleProperties = 0;
+        staleWelfare = false;
+    }
+
+    private void eliminate(Player loser) {
+        if (!players.contains(loser))
+            return;  // in the snapshot of a late joiner, and before
+        board.gameBox.getChildren().remove(players.indexOf(loser) + 2);
+        board.playerGridPane.getChildren().remove(loser.getPlane());
+        players.remove(loser);
+        mirror.players.remove(loser.state);
+        AudioClips.bankrupt.play(.5);
+        status.setText(loser.getName() + " is bankrupt.");
+    }
+
+    /**
+     * ASK: shows the popup of the question, if it's for a seat of this terminal
+     *
+     * @param space space of the Property asked about; -1 if none
+     */
+    private void ask(String question, int seat, int space) {
+        Player player = playerViews[seat];
+        if (!isMine(seat)) {
+            status.setText("Waiting for " + player.getName() + "...");
+            status.setTextFill(Color.BLACK);
+            return;
+        }
+        status.setText("Your move, " + player.getName() + ".");
+        status.setTextFill(Color.BLACK);
+        asked = true;
+        long money = player.getMoney();
+        switch (question) {
+            case "PURCHASE":
+                board.purchasePopup.bind(board.spaceToProperty[space], money);
+                board.purchasePopup.bindOdds(board.landingProbabilities.oddsText[space]);
+                showPopup(board.purchasePopup);
+                break;
+            case "BUILD":
+                board.buildPopup.bind(board.spaceToProperty[space], player.getPlayerColor(), money);
+                board.buildPopup.bindOdds(board.landingProbabilities.oddsText[space]);
+                showPopup(board.buildPopup);
+                break;
+            case "TICKET":
+                PlayerState owner = mirror.properties[space].owner();
+                board.rentPopup.bind(board.spaceToProperty[space], playerViews[owner.id].getPlayerColor(), money,
+                    true);
+                showPopup(board.rentPopup);
+                break;
+            case "ENTER":
+                PlayerState columbiaOwner = mirror.properties[Board.COLUMBIA].owner();
+                board.cornerPopup.bind(Board.SPACE_STATION, "Would you like to enter Space Station?",
+                    player.state == columbiaOwner ? "YES" :
+                        "YES (Pay " + MoneyFormat.format(Board.SPACE_STATION_FEE) + " to " +
+                            (columbiaOwner == null ? "BANKER" : columbiaOwner.name) + ")",
+                    money, AudioClips.enterSpaceTravel);
+                showPopup(board.cornerPopup);
+                break;
+            case "DESTINATION":
+                askDestination();
+                break;
+            case "ESCAPE":
+                Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+                alert.setTitle("Escape Deserted Island?");
+                alert.setHeaderText("You have \"ESCAPE DESERTED ISLAND\" Golden Key.");
+                alert.setContentText("Will you use the \"ESCAPE DESERTED ISLAND\" Golden Key?");
+                alert.setOnHidden(dialogEvent ->
+                    answer(alert.getResult() == alert.getButtonTypes().get(0) ? 1 : 0));
+                alert.show();
+                break;
+        }
+    }
+
+    /**
+     * Shows the GameManager's popup; closing it answers like its dismissing button
+     */
+    private void showPopup(PopupView view) {
+        Button dismiss = view.dismissButton();
+        board.popup.setOnCloseRequest(windowEvent -> dismiss.fire());
+        board.popup.getScene().setRoot(view.pane);
+        board.popup.sizeToScene();
+        board.popup.show();
+        if (view.introSound != null)
+            view.introSound.play();
+    }
+
+    private void askDestination() {
+        Stage window = new Stage();
+        Label text = new Label("You are on Space Station.\nTo which space will you go?");
+        ComboBox<String> comboBox = new ComboBox<>();
+        try {
+            Scanner filescan = new Scanner(Assets.open("SpaceIndices.txt"), "UTF-8");
+            while (filescan.hasNext()) {
+                comboBox.getItems().add(filescan.nextLine());
+            }
+            filescan.close();
+        } catch (FileNotFoundException e) {
+            e.printStackTrace();
+        }
+        Button moveButton = new Button("MOVE!");
+        VBox vBox = new VBox(text, comboBox, moveButton);
+        vBox.setAlignment(Pos.CENTER);
+        window.setScene(new Scene(vBox, 300, 200));
+        moveButton.setOnAction(actionEvent -> {
+            String dest = comboBox.getValue();
+            if (dest == null)
+                return;
+            int destination = Integer.parseInt(dest.substring(0, dest.indexOf(":")));
+            if (destination == Board.SPACE_STATION) {
+                Label uhNoLabel = new Label("No. You're not coming back here.");
+                uhNoLabel.setTextFill(Color.RED);
+                vBox.getChildren().add(uhNoLabel);
+                return;
+            }
+            AudioClips.spaceTravel.play();
+            window.close();
+            answer(destination);
+        });
+        window.setOnCloseRequest(windowEvent -> windowEvent.consume());  // a destination must be chosen
+        window.show();
+    }
+
+    /**
+     * Sends the answer to the question asked, once
+     */
+    private void answer(int answer) {
+        if (!asked)
+            return;
+        asked = false;
+        board.popup.close();
+        server.println("ANSWER " + answer);
+    }
+
+    /**
+     * The popups' buttons answer the question instead of changing a local game
+     */
+    private void bindPopups() {
+        board.purchasePopup.b0.setOnAction(actionEvent -> {
+            AudioClips.build.stop();
+            AudioClips.purchase.play(.5);
+            answer(1);
+        });
+        board.purchasePopup.b2.setOnAction(actionEvent -> {
+            AudioClips.buttonAudioClips[2].play(.5);
+            answer(0);
+        });
+        board.buildPopup.b0.setOnAction(actionEvent -> {
+            AudioClips.build.stop();
+            PropertyState property = board.buildPopup.property.state;
+            int configuration = PropertyState.configuration(board.buildPopup.queries);
+            if (property.priceWith(configuration) - property.price() > property.owner().money) {
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("You don't have enough money!");
+                alert.setHeaderText("You can't afford to construct these buildings at this property!");
+                alert.setContentText("Try again when you do have enough money.");
+                AudioClips.buttonAudioClips[6].play(.5);
+                alert.show();
+                return;
+            }
+            AudioClips.purchase.play(.5);
+            answer(configuration);
+        });
+        board.buildPopup.b3.setOnAction(actionEvent -> {
+            AudioClips.build.stop();
+            AudioClips.buttonAudioClips[2].play(.5);
+            answer(Decisions.KEEP_BUILDINGS);
+        });
+        board.rentPopup.b0.setOnAction(actionEvent -> {
+            AudioClips.buttonAudioClips[0].play(.5);
+            answer(0);
+        });
+        board.rentPopup.b6.setOnAction(actionEvent -> {
+            AudioClips.goldenKey.play();
+            answer(1);
+        });
+        board.cornerPopup.b0.setOnAction(actionEvent -> {
+            AudioClips.buttonAudioClips[0].play(.5);
+            answer(1);
+        });
+        board.cornerPopup.b1.setOnAction(actionEvent -> {
+            AudioClips.buttonAudioClips[2].play(.5);
+            answer(0);
+        });
+    }
+
+    private void gameOver(int winner) {
+        board.popup.close();
+        String message = winner < 0 ? "The game ran out of turns." :
+            isMine(winner) ? "Congratulations, " + playerViews[winner].getName() + ". YOU WON!" :
+                playerViews[winner].getName() + " won the game.";
+        status.setText(message);
+        status.setTextFill(Color.MEDIUMORCHID);
+        AudioClips.gameOver.play(.6);
+        server.println("QUIT");
+    }
+}
@@ -0,0 +1,95 @@
+package sample;
+
+/**
+ * Aggregate results of a batch of simulated games: wins per seat, game lengths and bankruptcy causes.
+ * Results of separate batches are combined with merge().
+ */
+class SimulationResult {
+    final long[] wins;
+    final long[] lengths;   // lengths[t] = # of games that ended after t turns
+    final long[] causes = new long[BankruptcyCause.values().length];
+    long games;
+    long unfinished;        // games still running after the turn limit
+
+    /**
+     * @param seats    number of players per game
+     * @param maxTurns turn limit per game
+     */
+    SimulationResult(int seats, int maxTurns) {
+        wins = new long[seats];
+        lengths = new long[maxTurns + 1];
+    }
+
+    void recordGame(PlayerState winner, int turns) {
+        games++;
+        if (winner == null) {
+            unfinished++;
+        } else {
+            wins[winner.id]++;
+            lengths[turns]++;
+        }
+    }
+
+    void recordBankruptcy(BankruptcyCause cause) {
+        causes[cause.ordinal()]++;
+    }
+
+    SimulationResult merge(SimulationResult other) {
+        games += other.games;
+        unfinished += other.unfinished;
+        for (int i = 0; i < wins.length; i++)
+            wins[i] += other.wins[i];
+        for (int i = 0; i < lengths.length; i++)
+            lengths[i] += other.lengths[i];
+        for (int i = 0; i < causes.length; i++)
+            causes[i] += other.causes[i];
+        return this;
+    }
+
+    /**
+     * @param fraction in (0, 1]
+     * @return the smallest game length (in turns) of at least that fraction of the finished games
+     */
+    int lengthPercentile(double fraction) {
+        long finished = games - unfinished;
+        long seen = 0;
+        for (int turns = 0; turns < lengths.length; turns++) {
+            seen += lengths[turns];
+            if (seen > 0 && seen >= fraction * finished)
+                return turns;
+        }
+        return lengths.length - 1;
+    }
+
+    double meanLength() {
+        long finished = games - unfinished, total = 0;
+        for (int turns = 0; turns < lengths.length; turns++)
+            total += turns * lengths[turns];
+        return finished == 0 ? 0 : (double) total / finished;
+    }
+
+    /**
+     * @param seatNames name of the policy playing each seat
+     * @return a printable report of these results
+     */
+    String report(String[] seatNames) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Games: %d (%d unfinished)%n", games, unfinished));
+        report.append("Win rates:\n");
+        for (int i = 0; i < wins.length; i++) {
+            report.append(String.format("  Player %d (%s): %.2f%%%n",
+                i + 1, seatNames[i], 100.0 * wins[i] / Math.max(games, 1)));
+        }
+        report.append(String.format("Game length (turns): mean %.1f, median %d, p90 %d, p99 %d%n",
+            meanLength(), lengthPercentile(.5), lengthPercentile(.9), lengthPercentile(.99)));
+        long bankruptcies = 0;
+        for (long count : causes)
+            bankruptcies += count;
+        report.append("Bankruptcy causes:\n");
+        for (BankruptcyCause cause : BankruptcyCause.values()) {
+            report.append(String.format("  %s: %.2f%%%n",
+                cause, 100.0 * causes[cause.ordinal()] / Math.max(bankruptcies, 1)));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,146 @@
+package sample;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Batch simulation mode: plays complete headless games between Bots across every core and prints the
+ * aggregate win rates, game lengths and bankruptcy causes.
+ * <p>
+ * Every game can be journaled into one GameJournal file shared by the workers.
+ * <p>
+ * Usage: java sample.Simulator [games] [policy,policy,...] [maxTurns] [seed] [Golden Key deck file] [journal file]
+ * e.g.   java sample.Simulator 1000000 greedy,cautious,landlord,miser 1000 42 GoldenKeys.txt games.journal
+ */
+public class Simulator {
+    static final int GAMES_PER_TASK = 256;
+
+    /**
+     * Splits a range of games in halves until they're small enough to play on one worker. Each task owns
+     * its SplittableRandom, so workers never share a random number generator and the results only depend
+     * on the seed. Every game gets its own seed from it, so any single game can be played again alone.
+     * The exception are timed MonteCarloBot seats ("mcts", "mcts:(milliseconds)"): their decisions depend on
+     * how many rollouts fit in the time, so reproducible runs give them rollouts instead ("mcts/(rollouts)").
+     */
+    static class SimulationTask extends RecursiveTask<SimulationResult> {
+        private final Bot[] seats;
+        private final GoldenKeyDeck deck;
+        private final int maxTurns;
+        private final long games;
+        private final SplittableRandom random;
+        private final FileChannel journal;  // NULL if not journaling
+
+        SimulationTask(Bot[] seats, GoldenKeyDeck deck, int maxTurns, long games, SplittableRandom random,
+                       FileChannel journal) {
+            this.seats = seats;
+            this.deck = deck;
+            this.maxTurns = maxTurns;
+            this.games = games;
+            this.random = random;
+            this.journal = journal;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (games > GAMES_PER_TASK) {
+                SimulationTask left = new SimulationTask(seats, deck, maxTurns, games / 2, random.split(), journal);
+                SimulationTask right = new SimulationTask(seats, deck, maxTurns, games - games / 2, random, journal);
+                left.fork();
+                return right.compute().merge(left.join());
+            }
+            SimulationResult result = new SimulationResult(seats.length, maxTurns);
+            GameListener listener = new GameListener() {
+                @Override
+                public void playerEliminated(PlayerState loser, PlayerState shark, BankruptcyCause cause) {
+                    result.recordBankruptcy(cause);
+                }
+            };
+            GameJournal gameJournal = journal == null ? null : new GameJournal(journal);
+            for (long i = 0; i < games; i++) {
+                GameEngine game = new GameEngine(newPlayers(seats), deck, random.nextLong(), listener);
+                if (gameJournal != null)
+                    game.startJournal(gameJournal);
+                int turns = 0;
+                while (!game.isOver() && turns < maxTurns) {
+                    game.playTurn();
+                    turns++;
+                }
+                result.recordGame(game.winner(), turns);
+            }
+            if (gameJournal != null) {
+                gameJournal.commit();
+                if (gameJournal.failure() != null)
+                    throw new UncheckedIOException(gameJournal.failure());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * @param seats the Bot playing each seat
+     * @return fresh players for one game, each deciding with the Bot of their seat
+     */
+    static List<PlayerState> newPlayers(Bot[] seats) {
+        List<PlayerState> players = new ArrayList<>(seats.length);
+        for (int i = 0; i < seats.length; i++) {
+            PlayerState player = new PlayerState(i, "Player " + (i + 1));
+            player.decisions = seats[i];
+            player.debtHandler = seats[i];
+            players.add(player);
+        }
+        return players;
+    }
+
+    /**
+     * Plays the games on the given pool
+     *
+     * @param seats    the Bot playing each seat (2-4 seats)
+     * @param deck     the Golden Key cards
+     * @param games    number of games to play
+     * @param maxTurns turn limit per game; longer games are counted as unfinished
+     * @param seed     seed of the root SplittableRandom
+     * @param journal  journal file from GameJournal.open(); NULL to play without journaling
+     */
+    static SimulationResult simulate(ForkJoinPool pool, Bot[] seats, GoldenKeyDeck deck, long games, int maxTurns,
+                                     long seed, FileChannel journal) {
+        return pool.invoke(new SimulationTask(seats, deck, maxTurns, games, new SplittableRandom(seed), journal));
+    }
+
+    public static void main(String[] args) throws IOException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100000;
+        String[] names = (args.length > 1 ? args[1] : "greedy,cautious,landlord,miser").split(",");
+        int maxTurns = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        GoldenKeyDeck deck = args.length > 4 ? GoldenKeyDeck.load(args[4]) : GoldenKeyDeck.standard();
+        if (names.length < 2 || names.length > 4)
+            throw new IllegalArgumentException("A game needs 2-4 players");
+
+        Bot[] seats = new Bot[names.length];
+        for (int i = 0; i < names.length; i++) {
+            seats[i] = Bot.named(names[i]);
+        }
+
+        FileChannel journal = args.length > 5 ? GameJournal.open(Paths.get(args[5])) : null;
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        long start = System.nanoTime();
+        SimulationResult result;
+        try {
+            result = simulate(pool, seats, deck, games, maxTurns, seed, journal);
+        } finally {
+            if (journal != null)
+                journal.close();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.print(result.report(names));
+        System.out.printf("Seed %d; %.1f s on %d threads (%.0f games/minute)%n",
+            seed, seconds, pool.getParallelism(), games / seconds * 60);
+    }
+}
@@ -0,0 +1,13 @@
+package sample;
+
+/**
+ * Phases of a turn, in the order the GameEngine goes through them. Headless drivers step through them with
+ * GameEngine.step(); the GameManager shows each one (dice, plane, popup) before the engine moves on.
+ */
+enum TurnPhase {
+    ROLL,      // before the dice: Deserted Island escape, or the destination from Space Station
+    MOVE,      // the Player moves to their new space (the engine already moved them)
+    RESOLVE,   // what the space does by itself: draw a Golden Key card, free entry to Space Station
+    DECIDE,    // the Player's decision on their space: purchase, rent or ticket, buildings, Golden Key...
+    END_TURN   // the turn is over; the next Player (or the same one after a double) rolls next
+}
@@ -0,0 +1,88 @@
+package sample;
+
+import javafx.application.Platform;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Estimates every player's chance to win from the state of a game, on a background thread: ROLLOUTS headless
+ * games are played on from a copy of it, with greedy Bots for every seat but plain Bots'. A rollout still on
+ * after MAX_TURNS counts for each remaining player as their share of the worth.
+ * <p>
+ * The estimate so far is published on the JavaFX thread after every BATCH rollouts, so the bars fill in while
+ * the rollouts run. Estimating a new state cancels the previous estimate; its results are never published.
+ */
+final class WinEstimator {
+    static final int ROLLOUTS = 4000;
+    static final int BATCH = 250;
+    static final int MAX_TURNS = 300;
+
+    private final Consumer<double[]> listener;  // gets the chances of every seat, by PlayerState.id
+    private final Bot policy = Bot.named("greedy");
+    private final SplittableRandom random = new SplittableRandom();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "WinEstimator");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private Future<?> running;
+    private int estimates;  // estimates started; only the latest is published
+
+    /**
+     * @param listener called on the JavaFX thread with the chances of every seat to win, by PlayerState.id
+     */
+    WinEstimator(Consumer<double[]> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Starts estimating the chances from the game as it is now, cancelling the previous estimate. Called on
+     * the JavaFX thread, between two changes of the game.
+     */
+    void estimate(GameEngine game) {
+        if (running != null)
+            running.cancel(true);
+        if (game.isOver())
+            return;
+        GameEngine start = new GameEngine(game, null, DecisionLog.DISCARD);  // rollouts never replay it
+        SplittableRandom random = this.random.split();
+        int estimate = ++estimates;
+        running = worker.submit(() -> {
+            double[] wins = new double[start.seats.length];
+            for (int played = 1; played <= ROLLOUTS && !Thread.currentThread().isInterrupted(); played++) {
+                GameEngine rollout = MonteCarloBot.rolloutCopy(start, policy, random);
+                for (int turns = 0; turns < MAX_TURNS && !rollout.isOver(); turns++) {
+                    rollout.playTurn();
+                }
+                for (PlayerState player : rollout.seats) {
+                    wins[player.id] += MonteCarloBot.value(rollout, player);
+                }
+                if (played % BATCH == 0)
+                    publish(estimate, wins, played);
+            }
+        });
+    }
+
+    private void publish(int estimate, double[] wins, int played) {
+        double[] chances = new double[wins.length];
+        for (int i = 0; i < wins.length; i++) {
+            chances[i] = wins[i] / played;
+        }
+        Platform.runLater(() -> {
+            if (estimate == estimates)
+                listener.accept(chances);
+        });
+    }
+
+    /**
+     * Cancels the estimate running, e.g. once the game is over
+     */
+    void close() {
+        worker.shutdownNow();
+    }
+}